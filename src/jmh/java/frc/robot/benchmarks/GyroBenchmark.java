@@ -0,0 +1,53 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.subsystems.Gyro;
+import frc.robot.subsystems.io.GyroIOReplay;
+
+/**
+ * Costo de {@link Gyro#getAutoTurnCommand()} por loop: un paso del perfil trapezoidal
+ * y el controlador, con el yaw acumulando varias vueltas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GyroBenchmark {
+
+    private static final int kSamples = 1024;
+
+    private final GyroIOReplay io = new GyroIOReplay();
+    private final double[] yaws = new double[kSamples];
+    private Gyro gyro;
+    private int index = 0;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        gyro = new Gyro(io);
+        // Yaw entre -1080° y 1080°: el objetivo se elige por el camino más corto
+        for (int i = 0; i < kSamples; i++) {
+            yaws[i] = -1080.0 + 2160.0 * i / kSamples;
+        }
+    }
+
+    @Benchmark
+    public double autoTurnCommand() {
+        io.getRecorded().yawDegrees = yaws[index];
+        index = (index + 1) % kSamples;
+        gyro.updateInputs();
+        if (!gyro.isAutoTurnActive()) {
+            gyro.rotateTo(90);
+        }
+        return gyro.getAutoTurnCommand();
+    }
+}
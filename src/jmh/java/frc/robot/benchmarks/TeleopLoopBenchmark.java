@@ -0,0 +1,67 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.RobotContainer;
+import frc.robot.subsystems.io.ClimberIOReplay;
+import frc.robot.subsystems.io.DrivetrainIOReplay;
+import frc.robot.subsystems.io.GyroIOReplay;
+import frc.robot.subsystems.io.IntakeIOReplay;
+import frc.robot.subsystems.io.TurretIOReplay;
+
+/**
+ * Un loop completo de teleop con IO falsa: lectura de entradas, scheduler (periodic de
+ * cada subsistema, triggers y comandos por defecto) y log del match.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TeleopLoopBenchmark {
+
+    private final TurretIOReplay turretIO = new TurretIOReplay();
+    private final GyroIOReplay gyroIO = new GyroIOReplay();
+    private RobotContainer container;
+    private int loop = 0;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setEnabled(true);
+        DriverStationSim.setAutonomous(false);
+        DriverStationSim.setJoystickAxisCount(0, 6);
+        DriverStationSim.setJoystickButtonCount(0, 10);
+        // Manejando y disparando: corren los comandos por defecto con salida distinta de 0
+        DriverStationSim.setJoystickAxis(0, 0, 0.3);
+        DriverStationSim.setJoystickAxis(0, 3, 0.8);
+        DriverStationSim.setJoystickAxis(0, 5, -0.6);
+        DriverStationSim.notifyNewData();
+        DriverStation.refreshData();
+
+        container = new RobotContainer(new DrivetrainIOReplay(), turretIO, new IntakeIOReplay(),
+            gyroIO, new ClimberIOReplay());
+    }
+
+    @Benchmark
+    public void teleopLoop() {
+        loop++;
+        turretIO.getRecorded().positionRotations = (loop % 100) * 0.01;
+        gyroIO.getRecorded().yawDegrees = loop * 0.1;
+
+        container.updateInputs();
+        CommandScheduler.getInstance().run();
+        container.logPeriodic();
+    }
+}
@@ -0,0 +1,68 @@
+package frc.robot.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import edu.wpi.first.hal.HAL;
+import frc.robot.subsystems.Turret;
+import frc.robot.subsystems.io.TurretIOReplay;
+
+/**
+ * Costo de las decisiones de la torreta: seguimiento normal, cerca del límite,
+ * durante un wrap y el planeo del ángulo alcanzable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TurretBenchmark {
+
+    private static final double kTurretKP = 0.006;
+
+    private final TurretIOReplay trackingIO = new TurretIOReplay();
+    private final TurretIOReplay wrapIO = new TurretIOReplay();
+    private Turret trackingTurret;
+    private Turret wrapTurret;
+    private double aimError = -10.0;
+    private double aimTarget = 170.0;
+
+    @Setup
+    public void setup() {
+        HAL.initialize(500, 0);
+
+        trackingTurret = new Turret(trackingIO);
+        trackingIO.getRecorded().positionRotations = Turret.degreesToRotations(90);
+        trackingTurret.updateInputs();
+
+        // Torreta a 350° con el target empujando hacia afuera: arranca el wrap
+        wrapTurret = new Turret(wrapIO);
+        wrapIO.getRecorded().positionRotations = Turret.degreesToRotations(350);
+        wrapTurret.updateInputs();
+        wrapTurret.getSmartRotationCommand(-10.0, kTurretKP, true);
+    }
+
+    @Benchmark
+    public double smartRotationCommand() {
+        aimError = -aimError;
+        return trackingTurret.getSmartRotationCommand(aimError, kTurretKP, true);
+    }
+
+    @Benchmark
+    public double wrapCommand() {
+        // Sin target y sin recorrido: se queda en la fase 1 del wrap
+        return wrapTurret.getWrapCommand(false);
+    }
+
+    @Benchmark
+    public double nearestReachableAngle() {
+        // Alterna entre un objetivo directo y uno que obliga a elegir la otra vuelta
+        aimTarget = -aimTarget;
+        return Turret.nearestReachableAngle(aimTarget, 350.0);
+    }
+}
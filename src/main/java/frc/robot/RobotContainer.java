@@ -0,0 +1,402 @@
+package frc.robot;
+
+import java.util.Map;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
+import edu.wpi.first.wpilibj.shuffleboard.ShuffleboardTab;
+import edu.wpi.first.wpilibj.smartdashboard.SendableChooser;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import edu.wpi.first.wpilibj2.command.Commands;
+import edu.wpi.first.wpilibj2.command.button.CommandXboxController;
+import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
+
+import frc.robot.autonomous.AutoPaths;
+import frc.robot.autonomous.AutoRoutines;
+import frc.robot.autonomous.CompiledTrajectory;
+import frc.robot.commands.Autos;
+import frc.robot.commands.TurretTrackingCommand;
+import frc.robot.localization.GoalAim;
+import frc.robot.localization.PoseEstimator;
+import frc.robot.logging.MatchLogger;
+import frc.robot.sim.RobotSimulation;
+import frc.robot.subsystems.BudgetedSubsystem;
+import frc.robot.subsystems.Climber;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+import frc.robot.subsystems.IO;
+import frc.robot.subsystems.Telemetry;
+import frc.robot.subsystems.Turret;
+import frc.robot.subsystems.Vision;
+import frc.robot.subsystems.io.CanBus;
+import frc.robot.subsystems.io.ClimberIO;
+import frc.robot.subsystems.io.ClimberIOReal;
+import frc.robot.subsystems.io.DrivetrainIO;
+import frc.robot.subsystems.io.DrivetrainIOReal;
+import frc.robot.subsystems.io.GyroIO;
+import frc.robot.subsystems.io.GyroIOReal;
+import frc.robot.subsystems.io.IntakeIO;
+import frc.robot.subsystems.io.IntakeIOReal;
+import frc.robot.subsystems.io.OdometryThread;
+import frc.robot.subsystems.io.TurretIO;
+import frc.robot.subsystems.io.TurretIOReal;
+import frc.robot.timing.LoopProfiler;
+import frc.robot.timing.Warmup;
+
+/**
+ * Arma los subsistemas, los comandos por defecto y los bindings del control.
+ * Robot solo maneja el ciclo de vida; toda la lógica vive en subsistemas y comandos.
+ */
+public class RobotContainer {
+
+  // ==================== APRIL TAG IDs ====================
+  private static final int RED_ALLIANCE_TAG = 1;
+  private static final int BLUE_ALLIANCE_TAG = 26;
+  /** Clave de SmartDashboard con el tag objetivo; el replay escribe ahí el valor grabado */
+  public static final String TARGET_TAG_KEY = "Target Tag ID";
+  private int targetTagID = RED_ALLIANCE_TAG;
+
+  // ==================== CONTROL ====================
+  private static final double kTriggerThreshold = 0.05;
+  private static final double kManualTurretThreshold = 0.7;
+
+  // ==================== HARDWARE ====================
+  private final Drivetrain drivetrain;
+  private final Turret turret;
+  private final IO io;
+  private final Gyro gyro;
+  private final Climber climber;
+  private final Vision vision;
+  private final PoseEstimator poseEstimator;
+  private final GoalAim goalAim;
+  private final CommandXboxController controller = new CommandXboxController(0);
+  private final Telemetry telemetry;
+  private final MatchLogger logger;
+  private final SendableChooser<Command> autoChooser = new SendableChooser<>();
+  private Map<String, CompiledTrajectory> trajectories;
+  // Solo en simulación
+  private RobotSimulation simulation;
+  // Lo actualiza disabledPeriodic sin esperar a la verificación de CAN
+  private boolean deviceConfigured = false;
+
+  /**
+   * @return Container con el hardware real en el roboRIO, o con los modelos de simulación en desktop
+   */
+  public static RobotContainer create() {
+    if (RobotBase.isReal()) {
+      RobotContainer container = new RobotContainer(new DrivetrainIOReal(), new TurretIOReal(), new IntakeIOReal(),
+          new GyroIOReal(), new ClimberIOReal());
+      // Las capas IO reales ya registraron sus señales
+      OdometryThread.getInstance().start();
+      // La config de CAN se terminó de mandar sin esperar; se verifica en su propio thread
+      CanBus.getInstance().startVerification();
+      CanBus.getInstance().reportEstimate();
+      // Mientras está deshabilitado, así los primeros loops habilitados ya corren compilados
+      Warmup.start(container.trajectories.values());
+      return container;
+    }
+    RobotSimulation simulation = new RobotSimulation();
+    RobotContainer container = new RobotContainer(simulation.drivetrain, simulation.turret, simulation.intake,
+        simulation.gyro, simulation.climber);
+    container.simulation = simulation;
+    return container;
+  }
+
+  public RobotContainer(DrivetrainIO drivetrainIO, TurretIO turretIO, IntakeIO intakeIO,
+      GyroIO gyroIO, ClimberIO climberIO) {
+    drivetrain = new Drivetrain(drivetrainIO);
+    turret = new Turret(turretIO);
+    io = new IO(intakeIO);
+    gyro = new Gyro(gyroIO);
+    climber = new Climber(climberIO);
+    vision = new Vision(turret, gyro, () -> targetTagID);
+    poseEstimator = new PoseEstimator(drivetrain, gyro, turret);
+    // El objetivo de la torreta es el mismo tag que sigue la visión
+    goalAim = new GoalAim(poseEstimator, drivetrain, gyro, () -> targetTagID);
+    // Publica desde el grupo de telemetría de Robot, no desde el scheduler
+    telemetry = new Telemetry();
+    logger = new MatchLogger(drivetrain, turret, io, gyro, climber, poseEstimator);
+
+    configureDefaultCommands();
+    configureBindings();
+    configureAutos();
+    // Los tabs de Shuffleboard no hacen falta para habilitar: se arman en el primer loop
+    CommandScheduler.getInstance().schedule(
+        Commands.runOnce(this::configureShuffleboard).ignoringDisable(true).withName("Shuffleboard Setup"));
+    configureTelemetry();
+  }
+
+  /**
+   * Mira, sin esperar, si ya se verificó la configuración de los controladores
+   * (ver {@link CanBus}). Robot lo llama en disabledPeriodic.
+   */
+  public void checkDeviceConfiguration() {
+    deviceConfigured = CanBus.getInstance().isConfigured();
+  }
+
+  /**
+   * Avisa si se habilita sin la configuración verificada. Se habilita igual: es mejor
+   * manejar con la config que haya que frenar el loop esperando al bus.
+   */
+  public void reportDeviceConfiguration() {
+    if (!deviceConfigured) {
+      DriverStation.reportError("Configuración de CAN sin verificar al habilitar", false);
+    }
+  }
+
+  private void configureDefaultCommands() {
+    // Cada comando por defecto se mide como su propia fase ("Timing/Command/<nombre>")
+    LoopProfiler profiler = LoopProfiler.getInstance();
+
+    // ==================== DRIVETRAIN ====================
+    drivetrain.setDefaultCommand(profiler.profile(drivetrain.run(() -> {
+      if (gyro.isAutoTurnActive()) {
+        // La salida del controlador de heading va tal cual; el avance se eleva al cuadrado a mano
+        double speed = controller.getRightY();
+        drivetrain.drive(Math.copySign(speed * speed, speed), gyro.getAutoTurnCommand(), false);
+        return;
+      }
+      drivetrain.drive(controller.getRightY(), controller.getLeftX());
+    }).withName("Arcade Drive")));
+
+    // ==================== TORRETA ====================
+    turret.setDefaultCommand(profiler.profile(new TurretTrackingCommand(
+        turret,
+        vision,
+        goalAim,
+        () -> controller.getHID().getLeftBumperButton()
+            && Math.abs(controller.getRightX()) > kManualTurretThreshold,
+        controller::getRightX)));
+
+    // ==================== INTAKE / SHOOT ====================
+    io.setDefaultCommand(profiler.profile(io.run(() -> {
+      if (controller.getRightTriggerAxis() > kTriggerThreshold) {
+        io.shoot(1);
+      } else if (controller.getLeftTriggerAxis() > kTriggerThreshold) {
+        io.intake(1);
+      } else if (controller.getHID().getBButton()) {
+        io.outtake(1);
+      } else {
+        io.stop(1);
+      }
+    }).withName("Intake/Shoot")));
+
+    // ==================== CLIMBER ====================
+    climber.setDefaultCommand(profiler.profile(climber.run(() -> {
+      if (controller.getHID().getYButton()) {
+        climber.climb(.1);
+      } else if (controller.getHID().getXButton()) {
+        climber.lower(.1);
+      } else {
+        climber.stop(1);
+      }
+    }).withName("Climber Manual")));
+  }
+
+  private void configureBindings() {
+    // ==================== MODO DE MANEJO ====================
+    // Por botón y no por dashboard: el control se graba, así el replay ve el mismo modo
+    controller.start().onTrue(Commands.runOnce(() -> {
+      Drivetrain.DriveMode mode = drivetrain.getDriveMode() == Drivetrain.DriveMode.OPEN_LOOP
+          ? Drivetrain.DriveMode.VELOCITY
+          : Drivetrain.DriveMode.OPEN_LOOP;
+      drivetrain.setDriveMode(mode);
+      DriverStation.reportWarning("Modo de manejo: " + mode, false);
+    }).ignoringDisable(true).withName("Toggle Drive Mode"));
+
+    // ==================== RESET TORRETA ====================
+    controller.a().onTrue(turret.runOnce(() -> {
+      turret.resetHome();
+      vision.reset();
+      DriverStation.reportWarning("🔄 Home de la torreta reseteado manualmente", false);
+    }).withName("Reset Turret Home"));
+  }
+
+  private void configureAutos() {
+    autoChooser.setDefaultOption("Classic (por tiempo)", Autos.classic(drivetrain, gyro));
+    autoChooser.addOption("None", Autos.none());
+    // Las trayectorias se leen acá, en robotInit: el autónomo no espera ningún cálculo
+    trajectories = AutoPaths.loadAll();
+    trajectories.forEach((name, trajectory) ->
+        autoChooser.addOption("Path: " + name, Autos.followPath(drivetrain, poseEstimator, trajectory, name)));
+
+    // Rutinas de deploy/autos. La torreta sigue apuntando con su comando por defecto
+    // mientras la rutina maneja el drivetrain y el intake.
+    AutoRoutines routines = new AutoRoutines(drivetrain, gyro, poseEstimator, trajectories);
+    routines.registerCommand("intake", () -> io.runEnd(() -> io.intake(1), () -> io.stop(1)).withName("Auto Intake"));
+    routines.registerCommand("shoot", () -> io.runEnd(() -> io.shoot(1), () -> io.stop(1)).withName("Auto Shoot"));
+    routines.registerCommand("outtake", () -> io.runEnd(() -> io.outtake(1), () -> io.stop(1)).withName("Auto Outtake"));
+    routines.registerCommand("resetYaw", () -> Commands.runOnce(gyro::resetYaw));
+    routines.loadAll().forEach((name, routine) -> autoChooser.addOption("Routine: " + name, routine));
+
+    // Caracterización: se corre como autónomo en el taller y el WPILOG se analiza con SysId.
+    // Los gains resultantes van a deploy/characterization.
+    for (SysIdRoutine.Direction direction : SysIdRoutine.Direction.values()) {
+      String suffix = direction == SysIdRoutine.Direction.kForward ? "Forward" : "Reverse";
+      autoChooser.addOption("SysId: Drive Quasistatic " + suffix, drivetrain.sysIdQuasistatic(direction));
+      autoChooser.addOption("SysId: Drive Dynamic " + suffix, drivetrain.sysIdDynamic(direction));
+      autoChooser.addOption("SysId: Turret Quasistatic " + suffix, turret.sysIdQuasistatic(direction));
+      autoChooser.addOption("SysId: Turret Dynamic " + suffix, turret.sysIdDynamic(direction));
+    }
+    SmartDashboard.putData("Auto Chooser", autoChooser);
+  }
+
+  private void configureShuffleboard() {
+    ShuffleboardTab allianceTab = Shuffleboard.getTab("Alliance Select");
+
+    // Botón para alianza ROJA
+    allianceTab.add("🔴 RED Alliance (Tag 10)", Commands.runOnce(() -> {
+        targetTagID = RED_ALLIANCE_TAG;
+        DriverStation.reportWarning("🔴 Cambiado a ALIANZA ROJA - Tag " + RED_ALLIANCE_TAG, false);
+    }).ignoringDisable(true)).withSize(2, 2).withPosition(0, 0);
+
+    // Botón para alianza AZUL
+    allianceTab.add("🔵 BLUE Alliance (Tag 26)", Commands.runOnce(() -> {
+        targetTagID = BLUE_ALLIANCE_TAG;
+        DriverStation.reportWarning("🔵 Cambiado a ALIANZA AZUL - Tag " + BLUE_ALLIANCE_TAG, false);
+    }).ignoringDisable(true)).withSize(2, 2).withPosition(2, 0);
+
+    // Mostrar tag actual
+    allianceTab.addNumber("Current Target Tag", () -> targetTagID)
+        .withSize(2, 1).withPosition(0, 2);
+
+    allianceTab.addString("Current Alliance", () -> {
+        if (targetTagID == RED_ALLIANCE_TAG) return "🔴 RED";
+        else if (targetTagID == BLUE_ALLIANCE_TAG) return "🔵 BLUE";
+        else return "⚪ CUSTOM";
+    }).withSize(2, 1).withPosition(2, 2);
+  }
+
+  private void configureTelemetry() {
+    // Las señales de Limelight/torreta ya no se duplican en un tab de Shuffleboard:
+    // se leen desde SmartDashboard
+    drivetrain.registerTelemetry(telemetry);
+    turret.registerTelemetry(telemetry);
+    for (BudgetedSubsystem subsystem : new BudgetedSubsystem[] {drivetrain, turret, io, gyro, climber, vision}) {
+      subsystem.registerBudgetTelemetry(telemetry);
+    }
+    gyro.registerTelemetry(telemetry);
+    vision.registerTelemetry(telemetry);
+    poseEstimator.registerTelemetry(telemetry);
+    CanBus.getInstance().registerTelemetry(telemetry);
+  }
+
+  /**
+   * ✅ NUEVO - Detecta alianza automáticamente del FMS
+   */
+  public void updateAllianceTag() {
+    var alliance = DriverStation.getAlliance();
+    if (alliance.isPresent()) {
+      if (alliance.get() == Alliance.Red) {
+        targetTagID = RED_ALLIANCE_TAG;
+        DriverStation.reportWarning("🔴 FMS detectó ALIANZA ROJA - Tag " + RED_ALLIANCE_TAG, false);
+      } else if (alliance.get() == Alliance.Blue) {
+        targetTagID = BLUE_ALLIANCE_TAG;
+        DriverStation.reportWarning("🔵 FMS detectó ALIANZA AZUL - Tag " + BLUE_ALLIANCE_TAG, false);
+      }
+      // La variante de la alianza queda calculada antes del autónomo
+      for (CompiledTrajectory trajectory : trajectories.values()) {
+        trajectory.forAlliance(alliance.get());
+      }
+    } else {
+      DriverStation.reportWarning("⚠️ No se pudo detectar alianza del FMS - usando Tag " + targetTagID, false);
+    }
+
+    // Actualizar SmartDashboard
+    SmartDashboard.putNumber(TARGET_TAG_KEY, targetTagID);
+  }
+
+  /**
+   * Lee el Target Tag ID desde SmartDashboard (permite cambio manual). Es una entrada:
+   * corre en el loop principal y el valor queda en el WPILOG.
+   */
+  public void updateTargetFromDashboard() {
+    int dashboardTag = (int) SmartDashboard.getNumber(TARGET_TAG_KEY, targetTagID);
+    if (dashboardTag != targetTagID) {
+      targetTagID = dashboardTag;
+      DriverStation.reportWarning("📝 Tag objetivo cambiado manualmente a: " + targetTagID, false);
+    }
+  }
+
+  /**
+   * Lee todo el hardware en una sola fase, antes de que corra el scheduler.
+   * Durante el resto del loop los subsistemas solo usan estos valores.
+   */
+  public void updateInputs() {
+    drivetrain.updateInputs();
+    turret.updateInputs();
+    io.updateInputs();
+    gyro.updateInputs();
+    climber.updateInputs();
+    // Cambia el objetivo de Vision y GoalAim, así que se lee con el resto de las entradas
+    updateTargetFromDashboard();
+  }
+
+  /**
+   * Grupo de control rápido: con el yaw más nuevo del thread de odometría corrige el giro
+   * del auto-turn y el setpoint de la torreta entre loops. No cambia nada que lea el loop
+   * principal; lo que manda a los motores queda en el WPILOG (/Outputs/Control).
+   */
+  public void controlPeriodic() {
+    gyro.updateLatest();
+    double turn = gyro.getFastAutoTurnCommand();
+    if (!Double.isNaN(turn) && drivetrain.refreshRotation(turn)) {
+      logger.logDriveRefresh();
+    }
+    if (turret.compensateChassisRotation(gyro.getYawChangeSinceLoop())) {
+      logger.logTurretCompensation();
+    }
+  }
+
+  /**
+   * Grupo de telemetría: solo publica, no cambia nada que use el loop principal.
+   */
+  public void telemetryPeriodic() {
+    telemetry.publish();
+  }
+
+  /**
+   * Fusiona odometría y visión. Robot lo corre con addPeriodic, más rápido que el loop.
+   */
+  public void updatePoseEstimator() {
+    poseEstimator.update();
+  }
+
+  public PoseEstimator getPoseEstimator() {
+    return poseEstimator;
+  }
+
+  /**
+   * Avanza la parte de la simulación que depende de todo el robot (cámara, cancha).
+   */
+  public void simulationPeriodic() {
+    if (simulation != null) {
+      simulation.update();
+    }
+  }
+
+  /**
+   * Guarda en el WPILOG las entradas y salidas de este loop.
+   */
+  public void logPeriodic() {
+    logger.log(vision.getLatest(), targetTagID);
+  }
+
+  /**
+   * @return Comando a correr en autónomo, el elegido en "Auto Chooser"
+   */
+  public Command getAutonomousCommand() {
+    return autoChooser.getSelected();
+  }
+
+  // ==================== REPLAY ====================
+  // El replay compara las salidas con la misma lectura que usa el logger
+
+  public MatchLogger getLogger() {
+    return logger;
+  }
+}
@@ -0,0 +1,124 @@
+package frc.robot.autonomous;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.math.trajectory.TrajectoryConfig;
+import edu.wpi.first.math.trajectory.TrajectoryGenerator;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import frc.robot.subsystems.Drivetrain;
+
+/**
+ * Carga las trayectorias del autónomo.
+ *
+ * <p>Cada camino es un archivo {@code deploy/paths/<nombre>.json} con sus waypoints,
+ * en coordenadas de la cancha de la alianza azul:
+ * <pre>
+ * {
+ *   "maxVelocity": 2.0,        (m/s, opcional)
+ *   "maxAcceleration": 1.5,    (m/s², opcional)
+ *   "reversed": false,         (opcional, true = marcha atrás)
+ *   "waypoints": [
+ *     {"x": 3.6, "y": 4.0, "heading": 0},
+ *     {"x": 5.6, "y": 4.0, "heading": 0}
+ *   ]
+ * }
+ * </pre>
+ * {@code heading} va en grados.
+ *
+ * <p>{@link TrajectoryCompiler} los genera al compilar y el deploy copia el resultado a
+ * {@code deploy/trajectories}; en el robot solo se leen esos binarios. Un camino sin
+ * binario (en simulación, o si no se corrió el compilador) se genera acá con un aviso.
+ * Un archivo inválido se reporta y se saltea.
+ */
+public final class AutoPaths {
+
+    static final String kPathExtension = ".json";
+    private static final String kPathDirectory = "paths";
+    private static final String kCompiledDirectory = "trajectories";
+
+    private AutoPaths() {
+    }
+
+    /**
+     * @return Trayectorias por nombre de camino, en orden alfabético
+     */
+    public static Map<String, CompiledTrajectory> loadAll() {
+        Map<String, CompiledTrajectory> trajectories = new TreeMap<>();
+        File deploy = Filesystem.getDeployDirectory();
+
+        File[] compiled = new File(deploy, kCompiledDirectory).listFiles(
+            (dir, name) -> name.endsWith(CompiledTrajectory.kExtension));
+        if (compiled != null) {
+            for (File file : compiled) {
+                try {
+                    trajectories.put(nameOf(file), CompiledTrajectory.read(file.toPath()));
+                } catch (IOException e) {
+                    DriverStation.reportError("Trayectoria " + file.getName() + " inválida: " + e.getMessage(), false);
+                }
+            }
+        }
+
+        File[] paths = new File(deploy, kPathDirectory).listFiles((dir, name) -> name.endsWith(kPathExtension));
+        if (paths != null) {
+            ObjectMapper mapper = new ObjectMapper();
+            for (File file : paths) {
+                String name = nameOf(file);
+                if (trajectories.containsKey(name)) {
+                    continue;
+                }
+                DriverStation.reportWarning("Trayectoria " + name + " sin compilar: se genera en el robot", false);
+                try {
+                    trajectories.put(name, CompiledTrajectory.fromTrajectory(generate(mapper.readTree(file))));
+                } catch (IOException | RuntimeException e) {
+                    DriverStation.reportError("Camino " + file.getName() + " inválido: " + e.getMessage(), false);
+                }
+            }
+        }
+        return trajectories;
+    }
+
+    /**
+     * @return Nombre del archivo sin extensión
+     */
+    static String nameOf(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    /**
+     * Genera la trayectoria de un camino ya leído.
+     */
+    static Trajectory generate(JsonNode path) {
+        JsonNode waypointsNode = path.get("waypoints");
+        if (waypointsNode == null || !waypointsNode.isArray() || waypointsNode.size() < 2) {
+            throw new IllegalArgumentException("hacen falta al menos 2 waypoints");
+        }
+        List<Pose2d> waypoints = new ArrayList<>();
+        for (JsonNode waypoint : waypointsNode) {
+            waypoints.add(new Pose2d(
+                waypoint.get("x").asDouble(),
+                waypoint.get("y").asDouble(),
+                Rotation2d.fromDegrees(waypoint.get("heading").asDouble())));
+        }
+
+        TrajectoryConfig config = new TrajectoryConfig(
+                path.path("maxVelocity").asDouble(Drivetrain.kMaxSpeedMetersPerSecond),
+                path.path("maxAcceleration").asDouble(Drivetrain.kMaxAccelerationMetersPerSecondSq))
+            .setKinematics(Drivetrain.kKinematics)
+            .setReversed(path.path("reversed").asBoolean(false));
+        return TrajectoryGenerator.generateTrajectory(waypoints, config);
+    }
+}
@@ -0,0 +1,174 @@
+package frc.robot.autonomous;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.commands.Autos;
+import frc.robot.localization.PoseEstimator;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+
+/**
+ * Arma las rutinas del autónomo a partir de {@code deploy/autos/<nombre>.json}.
+ *
+ * <p>Cada rutina es un nodo; cada nodo es un objeto con una sola clave que dice qué es:
+ * <pre>
+ * {"sequence": [nodo, ...]}                 uno después del otro
+ * {"parallel": [nodo, ...]}                 todos a la vez, termina cuando terminan todos
+ * {"race": [nodo, ...]}                     todos a la vez, termina cuando termina uno
+ * {"deadline": [nodo, ...]}                 todos a la vez, termina cuando termina el primero
+ * {"path": "Taxi", "events": [              sigue una trayectoria de deploy/paths; cada
+ *     {"time": 0.5, "command": nodo}]}      evento arranca a los "time" s y se corta al final
+ * {"wait": 1.5}                             espera (s)
+ * {"drive": {"speed": 1, "seconds": 3}}     avanza a duty cycle fijo
+ * {"rotateTo": -90}                         auto-turn del gyro a un ángulo absoluto
+ * {"named": "intake"}                       comando registrado con {@link #registerCommand}
+ * </pre>
+ *
+ * <p>Todo se arma en robotInit: el autónomo solo agenda un comando ya construido. Un
+ * archivo con errores (nodo desconocido, camino o comando inexistente) se reporta y
+ * se saltea.
+ */
+public final class AutoRoutines {
+
+    private static final String kDirectory = "autos";
+    private static final String kExtension = ".json";
+
+    private final Drivetrain drivetrain;
+    private final Gyro gyro;
+    private final PoseEstimator poseEstimator;
+    private final Map<String, CompiledTrajectory> trajectories;
+    private final Map<String, Supplier<Command>> namedCommands = new HashMap<>();
+
+    public AutoRoutines(Drivetrain drivetrain, Gyro gyro, PoseEstimator poseEstimator,
+            Map<String, CompiledTrajectory> trajectories) {
+        this.drivetrain = drivetrain;
+        this.gyro = gyro;
+        this.poseEstimator = poseEstimator;
+        this.trajectories = trajectories;
+    }
+
+    /**
+     * Registra un comando para usar con {@code {"named": ...}}. El proveedor se llama una
+     * vez por uso: un comando no puede estar en dos grupos.
+     */
+    public void registerCommand(String name, Supplier<Command> command) {
+        namedCommands.put(name, command);
+    }
+
+    /**
+     * @return Rutinas por nombre de archivo (sin extensión), en orden alfabético
+     */
+    public Map<String, Command> loadAll() {
+        Map<String, Command> routines = new TreeMap<>();
+        File[] files = new File(Filesystem.getDeployDirectory(), kDirectory).listFiles(
+            (dir, name) -> name.endsWith(kExtension));
+        if (files == null) {
+            return routines;
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        for (File file : files) {
+            String name = AutoPaths.nameOf(file);
+            try {
+                routines.put(name, compile(mapper.readTree(file)).withName("Routine " + name));
+            } catch (IOException | RuntimeException e) {
+                DriverStation.reportError("Rutina " + file.getName() + " inválida: " + e.getMessage(), false);
+            }
+        }
+        return routines;
+    }
+
+    /**
+     * Convierte un nodo (y sus hijos) en un comando.
+     */
+    Command compile(JsonNode node) {
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("se esperaba un objeto");
+        }
+        if (node.has("sequence")) {
+            return Commands.sequence(compileAll(node.get("sequence")));
+        }
+        if (node.has("parallel")) {
+            return Commands.parallel(compileAll(node.get("parallel")));
+        }
+        if (node.has("race")) {
+            return Commands.race(compileAll(node.get("race")));
+        }
+        if (node.has("deadline")) {
+            Command[] commands = compileAll(node.get("deadline"));
+            Command[] others = new Command[commands.length - 1];
+            System.arraycopy(commands, 1, others, 0, others.length);
+            return Commands.deadline(commands[0], others);
+        }
+        if (node.has("path")) {
+            return compilePath(node);
+        }
+        if (node.has("wait")) {
+            return Commands.waitSeconds(node.get("wait").asDouble());
+        }
+        if (node.has("drive")) {
+            JsonNode drive = node.get("drive");
+            return Autos.drive(drivetrain, drive.get("speed").asDouble(), drive.get("seconds").asDouble());
+        }
+        if (node.has("rotateTo")) {
+            return Autos.rotateTo(drivetrain, gyro, node.get("rotateTo").asDouble());
+        }
+        if (node.has("named")) {
+            String name = node.get("named").asText();
+            Supplier<Command> command = namedCommands.get(name);
+            if (command == null) {
+                throw new IllegalArgumentException("comando desconocido: " + name);
+            }
+            return command.get();
+        }
+        Iterator<String> fields = node.fieldNames();
+        throw new IllegalArgumentException("nodo desconocido: " + (fields.hasNext() ? fields.next() : "{}"));
+    }
+
+    private Command[] compileAll(JsonNode nodes) {
+        if (nodes == null || !nodes.isArray() || nodes.size() == 0) {
+            throw new IllegalArgumentException("se esperaba una lista de nodos");
+        }
+        Command[] commands = new Command[nodes.size()];
+        for (int i = 0; i < commands.length; i++) {
+            commands[i] = compile(nodes.get(i));
+        }
+        return commands;
+    }
+
+    private Command compilePath(JsonNode node) {
+        String name = node.get("path").asText();
+        CompiledTrajectory trajectory = trajectories.get(name);
+        if (trajectory == null) {
+            throw new IllegalArgumentException("camino desconocido: " + name);
+        }
+        Command follow = Autos.followPath(drivetrain, poseEstimator, trajectory, name);
+        JsonNode events = node.get("events");
+        if (events == null || events.size() == 0) {
+            return follow;
+        }
+
+        // Cada evento espera su tiempo y corre hasta que termina la trayectoria
+        Command[] markers = new Command[events.size()];
+        for (int i = 0; i < markers.length; i++) {
+            JsonNode event = events.get(i);
+            markers[i] = Commands.sequence(
+                Commands.waitSeconds(event.get("time").asDouble()),
+                compile(event.get("command")));
+        }
+        return Commands.deadline(follow, markers);
+    }
+}
@@ -0,0 +1,222 @@
+package frc.robot.autonomous;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import frc.robot.localization.PoseEstimator;
+
+/**
+ * Trayectoria ya generada, guardada en arreglos primitivos (un arreglo por campo).
+ *
+ * <p>{@link TrajectoryCompiler} las genera en la compu al compilar y las escribe en
+ * binario; en el robot se leen con un mapeo de memoria en robotInit, sin generar nada.
+ *
+ * <p>Formato {@code .traj} (big endian): int mágico {@code kMagic}, int versión, int
+ * cantidad de estados n, y después n registros de 7 doubles:
+ * t (s), v (m/s), a (m/s²), x (m), y (m), heading (rad), curvatura (rad/m).
+ *
+ * <p>Las coordenadas son de la alianza azul. La variante roja es la misma trayectoria
+ * rotada 180° alrededor del centro de la cancha; se calcula la primera vez que se
+ * pide y queda guardada.
+ */
+public final class CompiledTrajectory {
+
+    public static final String kExtension = ".traj";
+    private static final int kMagic = 0x5452414A;   // "TRAJ"
+    private static final int kVersion = 1;
+    private static final int kFields = 7;
+    private static final int kHeaderBytes = 3 * Integer.BYTES;
+
+    private final double[] times;
+    private final double[] velocities;
+    private final double[] accelerations;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] headings;
+    private final double[] curvatures;
+    private CompiledTrajectory mirrored;
+
+    private CompiledTrajectory(int length) {
+        times = new double[length];
+        velocities = new double[length];
+        accelerations = new double[length];
+        xs = new double[length];
+        ys = new double[length];
+        headings = new double[length];
+        curvatures = new double[length];
+    }
+
+    /**
+     * Estado de la trayectoria en un instante. Se reutiliza entre muestras.
+     */
+    public static final class Sample {
+        public double x;
+        public double y;
+        public double headingRadians;
+        public double velocityMetersPerSecond;
+        public double accelerationMetersPerSecondSq;
+        public double angularVelocityRadiansPerSecond;
+    }
+
+    /**
+     * Copia una trayectoria de WPILib a arreglos.
+     */
+    public static CompiledTrajectory fromTrajectory(Trajectory trajectory) {
+        List<Trajectory.State> states = trajectory.getStates();
+        CompiledTrajectory compiled = new CompiledTrajectory(states.size());
+        for (int i = 0; i < states.size(); i++) {
+            Trajectory.State state = states.get(i);
+            compiled.times[i] = state.timeSeconds;
+            compiled.velocities[i] = state.velocityMetersPerSecond;
+            compiled.accelerations[i] = state.accelerationMetersPerSecondSq;
+            compiled.xs[i] = state.poseMeters.getX();
+            compiled.ys[i] = state.poseMeters.getY();
+            compiled.headings[i] = state.poseMeters.getRotation().getRadians();
+            compiled.curvatures[i] = state.curvatureRadPerMeter;
+        }
+        return compiled;
+    }
+
+    /**
+     * Lee un archivo {@code .traj} mapeándolo a memoria.
+     */
+    public static CompiledTrajectory read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != kMagic || buffer.getInt() != kVersion) {
+                throw new IOException("formato desconocido");
+            }
+            int length = buffer.getInt();
+            if (length < 1 || buffer.remaining() != (long) length * kFields * Double.BYTES) {
+                throw new IOException("tamaño inválido");
+            }
+            CompiledTrajectory compiled = new CompiledTrajectory(length);
+            DoubleBuffer records = buffer.asDoubleBuffer();
+            for (int i = 0; i < length; i++) {
+                compiled.times[i] = records.get();
+                compiled.velocities[i] = records.get();
+                compiled.accelerations[i] = records.get();
+                compiled.xs[i] = records.get();
+                compiled.ys[i] = records.get();
+                compiled.headings[i] = records.get();
+                compiled.curvatures[i] = records.get();
+            }
+            return compiled;
+        }
+    }
+
+    /**
+     * Escribe la trayectoria en formato {@code .traj}.
+     */
+    public void write(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(kHeaderBytes + times.length * kFields * Double.BYTES);
+        buffer.putInt(kMagic).putInt(kVersion).putInt(times.length);
+        for (int i = 0; i < times.length; i++) {
+            buffer.putDouble(times[i])
+                .putDouble(velocities[i])
+                .putDouble(accelerations[i])
+                .putDouble(xs[i])
+                .putDouble(ys[i])
+                .putDouble(headings[i])
+                .putDouble(curvatures[i]);
+        }
+        Files.write(file, buffer.array());
+    }
+
+    /**
+     * @return Esta trayectoria para la alianza azul, o la rotada (guardada después de
+     *         la primera vez) para la roja
+     */
+    public CompiledTrajectory forAlliance(Alliance alliance) {
+        if (alliance != Alliance.Red) {
+            return this;
+        }
+        if (mirrored == null) {
+            mirrored = rotateAroundFieldCenter();
+        }
+        return mirrored;
+    }
+
+    private CompiledTrajectory rotateAroundFieldCenter() {
+        CompiledTrajectory rotated = new CompiledTrajectory(times.length);
+        for (int i = 0; i < times.length; i++) {
+            rotated.times[i] = times[i];
+            rotated.velocities[i] = velocities[i];
+            rotated.accelerations[i] = accelerations[i];
+            rotated.xs[i] = PoseEstimator.kFieldLength - xs[i];
+            rotated.ys[i] = PoseEstimator.kFieldWidth - ys[i];
+            rotated.headings[i] = headings[i] + Math.PI;
+            // Rotar no cambia hacia dónde dobla el camino
+            rotated.curvatures[i] = curvatures[i];
+        }
+        return rotated;
+    }
+
+    public double getTotalTimeSeconds() {
+        return times[times.length - 1];
+    }
+
+    public Pose2d getInitialPose() {
+        return new Pose2d(xs[0], ys[0], Rotation2d.fromRadians(headings[0]));
+    }
+
+    /**
+     * Interpola el estado en {@code timeSeconds} (limitado al rango de la trayectoria).
+     * @param out Donde se escribe el resultado
+     */
+    public void sample(double timeSeconds, Sample out) {
+        int last = times.length - 1;
+        if (timeSeconds <= times[0]) {
+            copy(0, out);
+            return;
+        }
+        if (timeSeconds >= times[last]) {
+            copy(last, out);
+            return;
+        }
+        // Búsqueda binaria del primer estado con tiempo mayor
+        int low = 1;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= timeSeconds) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        int i = low - 1;
+        double fraction = (timeSeconds - times[i]) / (times[low] - times[i]);
+        out.x = lerp(xs[i], xs[low], fraction);
+        out.y = lerp(ys[i], ys[low], fraction);
+        double headingDelta = Math.IEEEremainder(headings[low] - headings[i], 2.0 * Math.PI);
+        out.headingRadians = headings[i] + headingDelta * fraction;
+        out.velocityMetersPerSecond = lerp(velocities[i], velocities[low], fraction);
+        out.accelerationMetersPerSecondSq = accelerations[i];
+        out.angularVelocityRadiansPerSecond = out.velocityMetersPerSecond * lerp(curvatures[i], curvatures[low], fraction);
+    }
+
+    private void copy(int i, Sample out) {
+        out.x = xs[i];
+        out.y = ys[i];
+        out.headingRadians = headings[i];
+        out.velocityMetersPerSecond = velocities[i];
+        out.accelerationMetersPerSecondSq = accelerations[i];
+        out.angularVelocityRadiansPerSecond = velocities[i] * curvatures[i];
+    }
+
+    private static double lerp(double a, double b, double fraction) {
+        return a + (b - a) * fraction;
+    }
+}
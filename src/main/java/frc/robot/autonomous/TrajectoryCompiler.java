@@ -0,0 +1,67 @@
+package frc.robot.autonomous;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Genera las trayectorias de {@code src/main/deploy/paths} en la compu y las escribe
+ * como {@code .traj} (ver {@link CompiledTrajectory}).
+ *
+ * <p>Lo corre {@code ./gradlew compileTrajectories}, que el deploy ejecuta antes de
+ * copiar los archivos al robot. Sale con código 1 si algún camino es inválido: mejor
+ * que el deploy falle a que falte una rutina en el match.
+ *
+ * <p>Uso: {@code TrajectoryCompiler <carpeta de paths> <carpeta de salida>}
+ */
+public final class TrajectoryCompiler {
+
+    private TrajectoryCompiler() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: TrajectoryCompiler <carpeta de paths> <carpeta de salida>");
+            System.exit(2);
+        }
+        File[] paths = new File(args[0]).listFiles((dir, name) -> name.endsWith(AutoPaths.kPathExtension));
+        File output = new File(args[1]);
+        Files.createDirectories(output.toPath());
+        // Un camino borrado no debe quedar como rutina en el robot
+        File[] stale = output.listFiles((dir, name) -> name.endsWith(CompiledTrajectory.kExtension));
+        if (stale != null) {
+            for (File file : stale) {
+                Files.delete(file.toPath());
+            }
+        }
+        if (paths == null) {
+            System.out.println("No hay caminos en " + args[0]);
+            return;
+        }
+        Arrays.sort(paths);
+
+        ObjectMapper mapper = new ObjectMapper();
+        int failed = 0;
+        for (File path : paths) {
+            String name = AutoPaths.nameOf(path);
+            try {
+                CompiledTrajectory trajectory = compile(path, mapper);
+                trajectory.write(new File(output, name + CompiledTrajectory.kExtension).toPath());
+                System.out.printf("%-24s %.2f s%n", name, trajectory.getTotalTimeSeconds());
+            } catch (IOException | RuntimeException e) {
+                System.err.println(name + ": " + e.getMessage());
+                failed++;
+            }
+        }
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * Genera un camino tal como queda en el {@code .traj} del deploy.
+     */
+    static CompiledTrajectory compile(File path, ObjectMapper mapper) throws IOException {
+        return CompiledTrajectory.fromTrajectory(AutoPaths.generate(mapper.readTree(path)));
+    }
+}
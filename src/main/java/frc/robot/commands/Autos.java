@@ -0,0 +1,77 @@
+package frc.robot.commands;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.Commands;
+import frc.robot.autonomous.CompiledTrajectory;
+import frc.robot.localization.PoseEstimator;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+
+/**
+ * Rutinas autónomas y los pasos con los que se arman.
+ */
+public final class Autos {
+
+    private Autos() {
+    }
+
+    /**
+     * Rutina original: avanzar, esperar, girar a -90° y avanzar dos veces.
+     */
+    public static Command classic(Drivetrain drivetrain, Gyro gyro) {
+        return Commands.sequence(
+            Commands.runOnce(gyro::resetYaw),
+            drive(drivetrain, 1, 4),
+            Commands.waitSeconds(3.0),
+            rotateTo(drivetrain, gyro, -90),
+            drive(drivetrain, 1, 3),
+            rotateTo(drivetrain, gyro, -90),
+            drive(drivetrain, 1, 3)
+        ).withName("Classic Auto");
+    }
+
+    /**
+     * Conduce en línea recta por un tiempo fijo y se detiene.
+     */
+    public static Command drive(Drivetrain drivetrain, double speed, double seconds) {
+        return drivetrain.run(() -> drivetrain.drive(speed, 0))
+            .withTimeout(seconds)
+            .finallyDo(() -> drivetrain.drive(0, 0))
+            .withName("Drive " + speed + " x " + seconds + "s");
+    }
+
+    /**
+     * Gira a un ángulo absoluto con el auto-turn del gyro (perfil trapezoidal) y termina
+     * cuando se asienta o se cancela.
+     */
+    public static Command rotateTo(Drivetrain drivetrain, Gyro gyro, double degrees) {
+        return Commands.sequence(
+            Commands.runOnce(() -> gyro.rotateTo(degrees)),
+            drivetrain.run(() -> drivetrain.drive(0, gyro.getAutoTurnCommand(), false))
+                .until(gyro::isAutoTurnFinished)
+        ).finallyDo(interrupted -> {
+            drivetrain.drive(0, 0);
+            if (interrupted && gyro.isAutoTurnActive()) {
+                gyro.cancelAutoTurn();
+            }
+        }).withName("Rotate to " + degrees);
+    }
+
+    /**
+     * Sigue una trayectoria de deploy/paths (ver {@link frc.robot.autonomous.AutoPaths}).
+     */
+    public static Command followPath(Drivetrain drivetrain, PoseEstimator poseEstimator,
+            CompiledTrajectory trajectory, String name) {
+        return new FollowTrajectoryCommand(drivetrain, poseEstimator, trajectory)
+            .withName("Path " + name);
+    }
+
+    /**
+     * Comando vacío para cuando no se elige rutina.
+     */
+    public static Command none() {
+        return Commands.runOnce(() -> DriverStation.reportWarning("Sin rutina autónoma", false))
+            .withName("None");
+    }
+}
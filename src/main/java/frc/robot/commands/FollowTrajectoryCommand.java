@@ -0,0 +1,76 @@
+package frc.robot.commands;
+
+import edu.wpi.first.math.controller.LTVUnicycleController;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.DriverStation.Alliance;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.autonomous.CompiledTrajectory;
+import frc.robot.localization.PoseEstimator;
+import frc.robot.subsystems.Drivetrain;
+
+/**
+ * Sigue una trayectoria con un controlador LTV de uniciclo sobre la pose estimada.
+ *
+ * <p>Cada loop se muestrea la trayectoria en el tiempo transcurrido, el controlador
+ * corrige la velocidad del chasis según el error de pose y el drivetrain sigue la
+ * velocidad de cada lado con feedforward. Si la pose todavía no está ubicada en la
+ * cancha (sin visión), se asume que el robot arranca en el inicio de la trayectoria.
+ *
+ * <p>La variante de la alianza se elige al arrancar; ya está calculada desde que
+ * {@code updateAllianceTag} resolvió la alianza.
+ */
+public class FollowTrajectoryCommand extends Command {
+
+    private static final double kLoopPeriod = 0.02;
+
+    private final Drivetrain drivetrain;
+    private final PoseEstimator poseEstimator;
+    private final CompiledTrajectory blueTrajectory;
+    private final LTVUnicycleController controller = new LTVUnicycleController(kLoopPeriod);
+    private final CompiledTrajectory.Sample reference = new CompiledTrajectory.Sample();
+    private final Timer timer = new Timer();
+    private CompiledTrajectory trajectory;
+
+    public FollowTrajectoryCommand(Drivetrain drivetrain, PoseEstimator poseEstimator, CompiledTrajectory trajectory) {
+        this.drivetrain = drivetrain;
+        this.poseEstimator = poseEstimator;
+        this.blueTrajectory = trajectory;
+        this.trajectory = trajectory;
+        addRequirements(drivetrain);
+    }
+
+    @Override
+    public void initialize() {
+        trajectory = blueTrajectory.forAlliance(DriverStation.getAlliance().orElse(Alliance.Blue));
+        if (!poseEstimator.isLocalized()) {
+            poseEstimator.resetPose(trajectory.getInitialPose());
+        }
+        timer.restart();
+    }
+
+    @Override
+    public void execute() {
+        trajectory.sample(timer.get(), reference);
+        ChassisSpeeds speeds = controller.calculate(poseEstimator.getPose(),
+            new Pose2d(reference.x, reference.y, Rotation2d.fromRadians(reference.headingRadians)),
+            reference.velocityMetersPerSecond, reference.angularVelocityRadiansPerSecond);
+        DifferentialDriveWheelSpeeds wheels = Drivetrain.kKinematics.toWheelSpeeds(speeds);
+        drivetrain.driveWheelSpeeds(wheels.leftMetersPerSecond, wheels.rightMetersPerSecond,
+            reference.accelerationMetersPerSecondSq);
+    }
+
+    @Override
+    public boolean isFinished() {
+        return timer.hasElapsed(trajectory.getTotalTimeSeconds());
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        drivetrain.drive(0, 0);
+    }
+}
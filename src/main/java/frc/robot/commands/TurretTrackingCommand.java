@@ -0,0 +1,156 @@
+package frc.robot.commands;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.wpilibj2.command.Command;
+import frc.robot.localization.GoalAim;
+import frc.robot.subsystems.Turret;
+import frc.robot.subsystems.Vision;
+
+/**
+ * Comando por defecto de la torreta: sigue el tag, hace wrap cerca de los límites,
+ * mantiene la posición cuando no hay target y permite override manual.
+ *
+ * <p>Con la pose localizada, la torreta apunta al objetivo aunque la cámara no vea el
+ * tag, y tanto ese ángulo como el de la visión pasan por
+ * {@link Turret#nearestReachableAngle}: el wrap es un movimiento al ángulo equivalente
+ * dentro de los límites. La búsqueda a ciegas solo queda para cuando no hay pose.
+ *
+ * <p>Al seguimiento se le suma un feedforward con la velocidad que necesita la torreta
+ * para compensar el movimiento del robot ({@link GoalAim#getTurretVelocityDegreesPerSecond()}):
+ * así no espera a que crezca el error para reaccionar a un giro del chasis.
+ */
+public class TurretTrackingCommand extends Command {
+
+    // ==================== CONSTANTES LL ====================
+    private static final double kTurretKP = 0.006;
+    private static final double kHoldKP = 0.003;
+    private static final double kDeadband = 0.02;
+    private static final double kMaxTurretSpeed = 1;
+    private static final double kManualScale = 0.5;
+    // En duty cycle el objetivo se manda una vez por loop: se adelanta un loop con la
+    // velocidad esperada. En ONBOARD_POSITION no: el grupo de control rápido ya corre el
+    // setpoint con el giro medido del chasis (Turret.compensateChassisRotation), y sumar
+    // las dos cosas lo dejaba un loop adelantado. El adelanto por el giro del chasis
+    // (GoalAim.getYawRateLeadDegrees) sigue la misma regla y se suma igual a la visión y a
+    // la pose: si solo lo llevaba la pose, cada parpadeo del tag saltaba el setpoint.
+    private static final double kSetpointLead = 0.02;
+
+    private final Turret turret;
+    private final Vision vision;
+    private final GoalAim goalAim;
+    private final BooleanSupplier manualActive;
+    private final DoubleSupplier manualSpeed;
+
+    // ==================== ESTADO ====================
+    private double holdPosition = 0;
+
+    /**
+     * @param manualActive true mientras el piloto quiere mover la torreta a mano
+     * @param manualSpeed Velocidad manual (-1 a 1)
+     */
+    public TurretTrackingCommand(Turret turret, Vision vision, GoalAim goalAim,
+            BooleanSupplier manualActive, DoubleSupplier manualSpeed) {
+        this.turret = turret;
+        this.vision = vision;
+        this.goalAim = goalAim;
+        this.manualActive = manualActive;
+        this.manualSpeed = manualSpeed;
+        addRequirements(turret);
+    }
+
+    @Override
+    public void initialize() {
+        holdPosition = turret.getEncoderPosition();
+    }
+
+    @Override
+    public void execute() {
+        boolean targetVisible = vision.isTargetVisible();
+        double aimError = vision.getAimErrorDegrees();
+        boolean manual = manualActive.getAsBoolean();
+
+        double turretCmd = 0;
+        // En ONBOARD_POSITION el seguimiento y el hold los cierra el SPARK MAX; NaN = usar duty cycle
+        boolean onboardControl = turret.getControlMode() == Turret.ControlMode.ONBOARD_POSITION;
+        double turretSetpoint = Double.NaN;
+        double turretVelocity = goalAim.getTurretVelocityDegreesPerSecond();
+        double feedforward = turret.getVelocityFeedforward(turretVelocity);
+        double lead = onboardControl ? 0.0
+                : turretVelocity * kSetpointLead + goalAim.getYawRateLeadDegrees();
+        double setpointFeedforward = 0.0;
+
+        // ==================== MANUAL OVERRIDE ====================
+        if (manual) {
+            turretCmd = manualSpeed.getAsDouble() * kManualScale;
+            holdPosition = turret.getEncoderPosition();
+
+        } else if (!turret.isWrapping() && goalAim.isAvailable()) {
+            // ==================== APUNTADO PLANEADO ====================
+            // La visión manda cuando ve el tag; si no, la pose
+            double targetAngle = targetVisible ? vision.getTargetAngleDegrees() : goalAim.getTurretAngleDegrees();
+            double plannedAngle = turret.getNearestReachableAngle(targetAngle + lead);
+            double plannedError = turret.getAngleDegrees() - plannedAngle;
+
+            if (onboardControl) {
+                turretSetpoint = Turret.degreesToRotations(plannedAngle);
+                setpointFeedforward = feedforward;
+            } else {
+                turretCmd = feedforward;
+                if (Math.abs(plannedError) > kDeadband) {
+                    turretCmd += -kTurretKP * plannedError * turret.getTrackingSpeed();
+                }
+            }
+            holdPosition = turret.getEncoderPosition();
+
+        } else {
+            // ==================== MODO AUTOMÁTICO (sin pose) ====================
+            double trackingCmd = 0;
+            if (!turret.isWrapping() && targetVisible) {
+                trackingCmd = turret.getSmartRotationCommand(aimError, kTurretKP, targetVisible);
+            }
+
+            if (turret.isWrapping()) {
+                turretCmd = turret.getWrapCommand(targetVisible);
+
+            } else if (targetVisible) {
+                if (onboardControl) {
+                    turretSetpoint = Turret.degreesToRotations(vision.getTargetAngleDegrees() + lead);
+                    setpointFeedforward = feedforward;
+                } else {
+                    turretCmd = feedforward;
+                    if (Math.abs(aimError) > kDeadband) {
+                        turretCmd += trackingCmd;
+                    }
+                }
+                holdPosition = turret.getEncoderPosition();
+
+            } else if (onboardControl) {
+                turretSetpoint = holdPosition;
+
+            } else {
+                double error = holdPosition - turret.getEncoderPosition();
+                turretCmd = kHoldKP * error;
+            }
+        }
+
+        // Aplicar límites
+        turretCmd = MathUtil.clamp(turretCmd, -kMaxTurretSpeed, kMaxTurretSpeed);
+
+        // Ejecutar el comando
+        if (!Double.isNaN(turretSetpoint)) {
+            turret.setTargetPosition(turretSetpoint, setpointFeedforward);
+        } else if (Math.abs(turretCmd) >= 0.02 || manual) {
+            turret.rotate(turretCmd);
+        } else {
+            turret.stop(1);
+        }
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+        turret.stop(1);
+    }
+}
@@ -0,0 +1,157 @@
+package frc.robot.localization;
+
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Pose2d;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+import frc.robot.vision.TurretCameraMount;
+
+/**
+ * Ángulo de torreta que apunta al objetivo de la alianza a partir de la pose estimada,
+ * sin necesitar que la cámara vea el tag.
+ *
+ * <p>El objetivo es el tag elegido para la alianza, con su posición del layout oficial.
+ * Mientras el robot gira, el chasis se sigue moviendo hasta que la torreta llega al
+ * setpoint. Ese adelanto ({@link #getYawRateLeadDegrees()}) no va en el ángulo: lo suma
+ * el comando, igual para este ángulo que para el de la visión.
+ *
+ * <p>{@link #getTurretVelocityDegreesPerSecond()} da la velocidad que tiene que llevar
+ * la torreta para seguir apuntando mientras el robot se mueve: contragira el yaw rate
+ * del Pigeon y sigue el cambio de rumbo al objetivo por la traslación.
+ */
+public class GoalAim {
+
+    private static final double kYawRateLookahead = 0.05;   // s
+
+    private final PoseEstimator poseEstimator;
+    private final Drivetrain drivetrain;
+    private final Gyro gyro;
+    private final IntSupplier goalTag;
+
+    // Posiciones de los tags en arreglos, para no buscar en el layout cada loop
+    private final int[] tagIds;
+    private final double[] tagX;
+    private final double[] tagY;
+
+    /**
+     * @param goalTag Tag de la alianza actual
+     */
+    public GoalAim(PoseEstimator poseEstimator, Drivetrain drivetrain, Gyro gyro, IntSupplier goalTag) {
+        this.poseEstimator = poseEstimator;
+        this.drivetrain = drivetrain;
+        this.gyro = gyro;
+        this.goalTag = goalTag;
+
+        List<AprilTag> tags = AprilTagFieldLayout.loadField(AprilTagFields.kDefaultField).getTags();
+        tagIds = new int[tags.size()];
+        tagX = new double[tags.size()];
+        tagY = new double[tags.size()];
+        for (int i = 0; i < tags.size(); i++) {
+            AprilTag tag = tags.get(i);
+            tagIds[i] = tag.ID;
+            tagX[i] = tag.pose.getX();
+            tagY[i] = tag.pose.getY();
+        }
+    }
+
+    /**
+     * @return true si la pose es confiable y el tag de la alianza está en el layout
+     */
+    public boolean isAvailable() {
+        return poseEstimator.isLocalized() && indexOf(goalTag.getAsInt()) >= 0;
+    }
+
+    /**
+     * @return Ángulo de torreta respecto del chasis (antihorario positivo, -180 a 180)
+     *         que apunta al objetivo, NaN si no está disponible
+     */
+    public double getTurretAngleDegrees() {
+        int tag = indexOf(goalTag.getAsInt());
+        if (tag < 0 || !poseEstimator.isLocalized()) {
+            return Double.NaN;
+        }
+
+        return turretAngleDegrees(poseEstimator.getPose(), tagX[tag], tagY[tag]);
+    }
+
+    /**
+     * Lo que se corre el ángulo de torreta si el chasis sigue girando {@code kYawRateLookahead}
+     * al yaw rate actual. Sirve para cualquier ángulo respecto del chasis (pose o visión).
+     * @return Grados a sumar al setpoint
+     */
+    public double getYawRateLeadDegrees() {
+        return -gyro.getYawRate() * kYawRateLookahead;
+    }
+
+    /**
+     * Matemática de {@link #getTurretAngleDegrees()}, sin estado (la usa también el warm-up).
+     * @param goalX Objetivo en la cancha (m)
+     * @param goalY Objetivo en la cancha (m)
+     */
+    public static double turretAngleDegrees(Pose2d pose, double goalX, double goalY) {
+        double heading = pose.getRotation().getRadians();
+        double bearing = Math.atan2(goalY - getPivotY(pose), goalX - getPivotX(pose));
+        double relative = bearing - heading;
+        return Math.toDegrees(Math.atan2(Math.sin(relative), Math.cos(relative)));
+    }
+
+    /**
+     * Velocidad de torreta (respecto del chasis) que mantiene el apuntado con el robot
+     * en movimiento. Sin pose solo compensa el giro del chasis.
+     * @return Grados/s, antihorario positivo
+     */
+    public double getTurretVelocityDegreesPerSecond() {
+        int tag = indexOf(goalTag.getAsInt());
+        if (tag < 0 || !poseEstimator.isLocalized()) {
+            // El chasis gira hacia un lado: la torreta tiene que girar lo mismo hacia el otro
+            return -gyro.getYawRate();
+        }
+        return turretVelocityDegreesPerSecond(poseEstimator.getPose(), gyro.getYawRate(),
+            drivetrain.getSpeedMetersPerSecond(), tagX[tag], tagY[tag]);
+    }
+
+    /**
+     * Matemática de {@link #getTurretVelocityDegreesPerSecond()} con pose, sin estado.
+     * @param speedMetersPerSecond Velocidad hacia adelante del chasis
+     */
+    public static double turretVelocityDegreesPerSecond(Pose2d pose, double yawRateDegreesPerSecond,
+            double speedMetersPerSecond, double goalX, double goalY) {
+        double rate = -yawRateDegreesPerSecond;
+        // Cambio del rumbo al objetivo por la traslación: (r × v) / |r|², con r = objetivo - torreta
+        double heading = pose.getRotation().getRadians();
+        double vx = speedMetersPerSecond * Math.cos(heading);
+        double vy = speedMetersPerSecond * Math.sin(heading);
+        double rx = goalX - getPivotX(pose);
+        double ry = goalY - getPivotY(pose);
+        double distanceSquared = rx * rx + ry * ry;
+        if (distanceSquared > 1e-6) {
+            rate += Math.toDegrees((ry * vx - rx * vy) / distanceSquared);
+        }
+        return rate;
+    }
+
+    // Eje de la torreta en la cancha
+    private static double getPivotX(Pose2d pose) {
+        double heading = pose.getRotation().getRadians();
+        return pose.getX() + TurretCameraMount.kPivotX * Math.cos(heading) - TurretCameraMount.kPivotY * Math.sin(heading);
+    }
+
+    private static double getPivotY(Pose2d pose) {
+        double heading = pose.getRotation().getRadians();
+        return pose.getY() + TurretCameraMount.kPivotX * Math.sin(heading) + TurretCameraMount.kPivotY * Math.cos(heading);
+    }
+
+    private int indexOf(int tagId) {
+        for (int i = 0; i < tagIds.length; i++) {
+            if (tagIds[i] == tagId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
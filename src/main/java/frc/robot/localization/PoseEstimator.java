@@ -0,0 +1,238 @@
+package frc.robot.localization;
+
+import edu.wpi.first.math.Matrix;
+import edu.wpi.first.math.VecBuilder;
+import edu.wpi.first.math.estimator.DifferentialDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.numbers.N1;
+import edu.wpi.first.math.numbers.N3;
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.TimestampedDoubleArray;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.smartdashboard.Field2d;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.logging.MatchLogger;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+import frc.robot.subsystems.Telemetry;
+import frc.robot.subsystems.Turret;
+import frc.robot.subsystems.io.DrivetrainIO;
+import frc.robot.subsystems.io.OdometryThread;
+import frc.robot.util.TimestampedBuffer;
+import frc.robot.vision.TurretCameraMount;
+
+/**
+ * Pose del robot en la cancha (coordenadas de la alianza azul, WPILib).
+ *
+ * <p>Fusiona la odometría (yaw del Pigeon + encoders del drivetrain) con las poses
+ * {@code botpose_wpiblue} de la Limelight. Cada medición de visión se aplica en el
+ * instante en que se capturó la imagen (publicación - latencia), y como la cámara
+ * está sobre la torreta se usa el ángulo que tenía la torreta en ese instante.
+ *
+ * <p>El yaw del Pigeon arranca en 0 donde sea que esté mirando el robot. El primer frame
+ * aceptado (o un {@link #resetPose} explícito) ancla el heading a la cancha; después el
+ * heading de la cámara se ignora y manda el Pigeon. Hasta entonces la pose no está
+ * localizada.
+ *
+ * <p>La odometría se integra muestra por muestra con lo que tomó {@link OdometryThread}
+ * (en simulación y replay, una muestra por loop); el yaw de cada muestra se interpola
+ * en el historial del gyro.
+ *
+ * <p>No es un subsistema: {@link #update()} corre con addPeriodic más rápido que el
+ * loop principal, así las mediciones de visión se aplican apenas llegan. Todo lo que
+ * necesite la pose (autónomo, apuntado de la torreta) la consulta acá.
+ */
+public class PoseEstimator {
+
+    // ==================== VISIÓN ====================
+    private static final int kQueueDepth = 16;
+    private static final int kHistorySize = 250;           // 1 s a 250 Hz
+    private static final double kMaxVisionDistance = 5.0;  // m al tag, más lejos no se usa
+    private static final double kVisionXYStdDevPerMeter2 = 0.1;
+    private static final double kMinVisionXYStdDev = 0.05;
+    // El heading lo da el Pigeon; el de la cámara arrastra el error del encoder de la torreta.
+    // Solo se usa una vez, en el primer frame aceptado, para anclar el yaw a la cancha.
+    private static final double kVisionHeadingStdDev = 1e6;
+    /** Medidas de la cancha (m); también definen la rotación a la alianza roja */
+    public static final double kFieldLength = 16.54;
+    public static final double kFieldWidth = 8.07;
+
+    // Índices dentro de botpose_wpiblue
+    private static final int BP_X = 0;
+    private static final int BP_Y = 1;
+    private static final int BP_YAW = 5;
+    private static final int BP_LATENCY = 6;
+    private static final int BP_TAG_COUNT = 7;
+    private static final int BP_AVG_DISTANCE = 9;
+    private static final int BP_MIN_LENGTH = 11;
+
+    private final Drivetrain drivetrain;
+    private final Gyro gyro;
+    private final Turret turret;
+
+    private final DifferentialDrivePoseEstimator estimator;
+    private final Matrix<N3, N1> visionStdDevs = VecBuilder.fill(1.0, 1.0, kVisionHeadingStdDev);
+    private final TimestampedBuffer turretHistory = new TimestampedBuffer(kHistorySize);
+    private final DoubleArraySubscriber botposeSub;
+    private final DoubleArrayLogEntry botposeLog;
+    private final IntegerLogEntry updateLog;
+    private final Field2d field = new Field2d();
+
+    private Pose2d pose = Pose2d.kZero;
+    // Última muestra de odometría integrada: update() corre dos veces por loop
+    private double lastOdometryTimestamp = Double.NEGATIVE_INFINITY;
+    // Hasta el primer frame aceptado (o un reset explícito) ni la posición ni el heading son los de la cancha
+    private boolean localized = false;
+    private long visionAccepted = 0;
+    private long visionRejected = 0;
+
+    public PoseEstimator(Drivetrain drivetrain, Gyro gyro, Turret turret) {
+        this.drivetrain = drivetrain;
+        this.gyro = gyro;
+        this.turret = turret;
+
+        DrivetrainIO.Inputs drive = drivetrain.getInputs();
+        estimator = new DifferentialDrivePoseEstimator(
+            Drivetrain.kKinematics,
+            Rotation2d.fromDegrees(gyro.getYaw()),
+            drive.leftPositionMeters,
+            drive.rightPositionMeters,
+            Pose2d.kZero,
+            VecBuilder.fill(0.02, 0.02, 0.01),
+            visionStdDevs);
+
+        botposeSub = NetworkTableInstance.getDefault().getTable("limelight")
+            .getDoubleArrayTopic("botpose_wpiblue")
+            .subscribe(new double[0], PubSubOption.keepDuplicates(true), PubSubOption.pollStorage(kQueueDepth));
+        // Cada frame se graba con su timestamp de NetworkTables para que el replay lo republique igual
+        botposeLog = new DoubleArrayLogEntry(DataLogManager.getLog(), MatchLogger.BOTPOSE);
+        updateLog = new IntegerLogEntry(DataLogManager.getLog(), MatchLogger.POSE_UPDATES);
+
+        // Al resetear el yaw (inicio del autónomo) la pose no se mueve
+        gyro.addYawResetListener(this::onYawReset);
+
+        SmartDashboard.putData("Field", field);
+    }
+
+    /**
+     * Integra la odometría y aplica los frames nuevos de la Limelight.
+     * Corre con addPeriodic, entre loops del robot.
+     */
+    public void update() {
+        for (int i = 0; i < turret.getOdometrySampleCount(); i++) {
+            turretHistory.add(turret.getOdometryTimestamp(i), turret.getOdometryAngleDegrees(i));
+        }
+
+        DrivetrainIO.Inputs drive = drivetrain.getInputs();
+        for (int i = 0; i < drive.odometrySamples; i++) {
+            double timestamp = drive.odometryTimestamps[i];
+            if (timestamp <= lastOdometryTimestamp) {
+                continue;
+            }
+            estimator.updateWithTime(timestamp, Rotation2d.fromDegrees(gyro.getYawAt(timestamp)),
+                drive.odometryLeftPositionMeters[i], drive.odometryRightPositionMeters[i]);
+            lastOdometryTimestamp = timestamp;
+        }
+
+        TimestampedDoubleArray[] frames = botposeSub.readQueue();
+        for (TimestampedDoubleArray frame : frames) {
+            botposeLog.append(frame.value, frame.timestamp);
+            addVisionFrame(frame.value, frame.timestamp / 1e6);
+        }
+        // Entre loops: el replay tiene que repetir este update en este instante
+        updateLog.append(frames.length);
+
+        pose = estimator.getEstimatedPosition();
+        field.setRobotPose(pose);
+    }
+
+    private void addVisionFrame(double[] botpose, double publishSeconds) {
+        if (botpose.length < BP_MIN_LENGTH || botpose[BP_TAG_COUNT] < 1) {
+            return;
+        }
+        double distance = botpose[BP_AVG_DISTANCE];
+        double captureSeconds = publishSeconds - botpose[BP_LATENCY] / 1000.0;
+        double turretAngle = turretHistory.getAt(captureSeconds);
+        if (distance > kMaxVisionDistance || Double.isNaN(turretAngle)) {
+            visionRejected++;
+            return;
+        }
+
+        Pose2d cameraPose = new Pose2d(botpose[BP_X], botpose[BP_Y], Rotation2d.fromDegrees(botpose[BP_YAW]));
+        Pose2d robotPose = cameraPose.transformBy(TurretCameraMount.robotToCamera(turretAngle).inverse());
+        if (robotPose.getX() < 0 || robotPose.getX() > kFieldLength
+                || robotPose.getY() < 0 || robotPose.getY() > kFieldWidth) {
+            visionRejected++;
+            return;
+        }
+
+        if (!localized) {
+            // Primer frame: la pose sale entera de la cámara, heading incluido. El heading
+            // se lleva al presente con lo que giró el Pigeon desde la captura.
+            double yawSinceCapture = gyro.getYaw() - gyro.getYawAt(captureSeconds);
+            resetPose(new Pose2d(robotPose.getTranslation(),
+                robotPose.getRotation().plus(Rotation2d.fromDegrees(yawSinceCapture))));
+            visionAccepted++;
+            return;
+        }
+
+        // El error crece con el cuadrado de la distancia y baja con más tags a la vista
+        double xyStdDev = Math.max(kMinVisionXYStdDev,
+            kVisionXYStdDevPerMeter2 * distance * distance / botpose[BP_TAG_COUNT]);
+        visionStdDevs.set(0, 0, xyStdDev);
+        visionStdDevs.set(1, 0, xyStdDev);
+        estimator.addVisionMeasurement(robotPose, captureSeconds, visionStdDevs);
+        visionAccepted++;
+    }
+
+    private void onYawReset(double newYawDegrees) {
+        DrivetrainIO.Inputs drive = drivetrain.getInputs();
+        estimator.resetPosition(Rotation2d.fromDegrees(newYawDegrees),
+            drive.leftPositionMeters, drive.rightPositionMeters, estimator.getEstimatedPosition());
+        // Las muestras tomadas antes del reset tienen el yaw viejo
+        lastOdometryTimestamp = Timer.getFPGATimestamp();
+    }
+
+    /**
+     * Redefine la pose (por ejemplo la posición de salida del autónomo).
+     */
+    public void resetPose(Pose2d newPose) {
+        DrivetrainIO.Inputs drive = drivetrain.getInputs();
+        estimator.resetPosition(Rotation2d.fromDegrees(gyro.getYaw()),
+            drive.leftPositionMeters, drive.rightPositionMeters, newPose);
+        pose = newPose;
+        localized = true;
+    }
+
+    /**
+     * @return true si la pose y el heading ya se ubicaron en la cancha (visión o reset explícito)
+     */
+    public boolean isLocalized() {
+        return localized;
+    }
+
+    /**
+     * @return Última pose estimada (se actualiza en {@link #update()})
+     */
+    public Pose2d getPose() {
+        return pose;
+    }
+
+    /**
+     * Registra la pose y las mediciones de visión en la telemetría.
+     */
+    public void registerTelemetry(Telemetry telemetry) {
+        telemetry.addDouble("Pose X", () -> pose.getX(), Telemetry.kNormal, 0.01);
+        telemetry.addDouble("Pose Y", () -> pose.getY(), Telemetry.kNormal, 0.01);
+        telemetry.addDouble("Pose Heading", () -> pose.getRotation().getDegrees(), Telemetry.kNormal, 0.5);
+        telemetry.addBoolean("Pose Localized", this::isLocalized, Telemetry.kSlow);
+        telemetry.addDouble("Vision Poses Accepted", () -> visionAccepted, Telemetry.kSlow);
+        telemetry.addDouble("Vision Poses Rejected", () -> visionRejected, Telemetry.kSlow);
+    }
+}
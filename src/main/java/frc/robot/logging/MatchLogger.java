@@ -0,0 +1,345 @@
+package frc.robot.logging;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.util.datalog.IntegerLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
+import frc.robot.localization.PoseEstimator;
+import frc.robot.subsystems.Climber;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Gyro;
+import frc.robot.subsystems.IO;
+import frc.robot.subsystems.Turret;
+import frc.robot.subsystems.io.DrivetrainIO;
+import frc.robot.subsystems.io.GyroIO;
+import frc.robot.subsystems.io.OdometryThread;
+import frc.robot.subsystems.io.TurretIO;
+import frc.robot.vision.VisionSample;
+
+/**
+ * Registra todas las entradas y salidas del robot en el WPILOG del match.
+ *
+ * <p>Cada grupo de valores se escribe como un arreglo tipado en una sola entrada,
+ * usando arreglos preasignados. DataLogManager escribe a disco en su propio thread,
+ * así que el loop principal solo copia números (nada de formatear strings).
+ *
+ * <p>Los nombres de las entradas son públicos porque el replay los lee.
+ */
+public class MatchLogger {
+
+    // ==================== ENTRADAS ====================
+    /**
+     * Ordinal de {@link AllianceStationID}. DriverStation no graba la alianza y de ella
+     * dependen el tag objetivo y el lado de las trayectorias; se escribe cuando cambia.
+     */
+    public static final String ALLIANCE_STATION = "/Inputs/DS/AllianceStation";
+    /** [leftX, leftY, leftTrigger, rightTrigger, rightX, rightY] (ejes 0-5 del control) */
+    public static final String CONTROLLER_AXES = "/Inputs/Controller/Axes";
+    /** Bitmask de botones del control (bit 0 = botón 1) */
+    public static final String CONTROLLER_BUTTONS = "/Inputs/Controller/Buttons";
+    /** Último frame del loop: [timestamp captura (s), tv, tx, tid, tl (ms), cl (ms)] */
+    public static final String LIMELIGHT = "/Inputs/Limelight";
+    /**
+     * Cada frame de la Limelight en formato t2d, con el timestamp de NetworkTables. Un
+     * loop puede leer varios; los escribe {@link frc.robot.vision.LimelightClient} al leerlos.
+     */
+    public static final String LIMELIGHT_FRAMES = "/Inputs/Limelight/T2D";
+    /** [yaw, pitch, roll] en grados, yaw rate en grados/s */
+    public static final String GYRO = "/Inputs/Gyro";
+    /** Tag objetivo leído del dashboard (se puede cambiar a mano); se escribe cuando cambia */
+    public static final String TARGET_TAG = "/Inputs/Dashboard/TargetTag";
+    /** [posición encoder (rot)] */
+    public static final String TURRET_ENCODER = "/Inputs/Turret/Encoder";
+    /** [izquierda, derecha (m), izquierda, derecha (m/s)] */
+    public static final String DRIVE_ENCODERS = "/Inputs/Drivetrain/Encoders";
+    /**
+     * Arreglo botpose_wpiblue tal cual llega, uno por frame, con el timestamp de
+     * NetworkTables. Lo escribe {@link PoseEstimator} al leerlo.
+     */
+    public static final String BOTPOSE = "/Inputs/Limelight/BotPose";
+    /**
+     * Una por corrida de {@link PoseEstimator#update()}, con la cantidad de frames de botpose
+     * que leyó. El replay corre el estimador en los mismos instantes y con los mismos frames.
+     */
+    public static final String POSE_UPDATES = "/Inputs/Pose/Updates";
+    /** Muestras de yaw del loop: [timestamps (s)..., yaw (grados)...] */
+    public static final String ODOMETRY_GYRO = "/Inputs/Odometry/Gyro";
+    /** Muestras del drivetrain del loop: [timestamps (s)..., izquierda (m)..., derecha (m)...] */
+    public static final String ODOMETRY_DRIVE = "/Inputs/Odometry/Drivetrain";
+    /** Muestras de la torreta del loop: [timestamps (s)..., posición encoder (rot)...] */
+    public static final String ODOMETRY_TURRET = "/Inputs/Odometry/Turret";
+
+    // ==================== SALIDAS ====================
+    /** [izquierda, derecha] duty cycle de los líderes */
+    public static final String DRIVE_OUTPUT = "/Outputs/Drivetrain";
+    /** [duty cycle, setpoint (rot, NaN en duty cycle), feedforward del setpoint] */
+    public static final String TURRET_OUTPUT = "/Outputs/Turret";
+    /** Ordinal de {@link Turret.State} */
+    public static final String TURRET_STATE = "/Outputs/Turret/State";
+    /** [motor1, motor2] duty cycle */
+    public static final String IO_OUTPUT = "/Outputs/IO";
+    public static final String CLIMBER_OUTPUT = "/Outputs/Climber";
+    /**
+     * [izquierda, derecha] duty cycle que mandó el grupo de control rápido entre loops, una
+     * por envío. El replay no corre ese grupo: quedan para análisis, no se comparan.
+     */
+    public static final String CONTROL_DRIVE_OUTPUT = "/Outputs/Control/Drivetrain";
+    /** Setpoint (rot) corrido por el giro del chasis en el grupo de control rápido, uno por envío */
+    public static final String CONTROL_TURRET_OUTPUT = "/Outputs/Control/Turret";
+
+    // ==================== ESTIMACIÓN ====================
+    /** [x (m), y (m), heading (grados)] */
+    public static final String POSE = "/Pose/Estimated";
+
+    // ==================== EVENTOS ====================
+    public static final String COMMAND_STARTED = "/Events/CommandStarted";
+    public static final String COMMAND_ENDED = "/Events/CommandEnded";
+
+    private static final int kAxisCount = 6;
+
+    private final Drivetrain drivetrain;
+    private final Turret turret;
+    private final IO io;
+    private final Gyro gyro;
+    private final Climber climber;
+    private final PoseEstimator poseEstimator;
+
+    private final IntegerLogEntry allianceStationEntry;
+    private final IntegerLogEntry targetTagEntry;
+    private final DoubleArrayLogEntry controllerAxesEntry;
+    private final IntegerLogEntry controllerButtonsEntry;
+    private final DoubleArrayLogEntry limelightEntry;
+    private final DoubleArrayLogEntry gyroEntry;
+    private final DoubleLogEntry turretEncoderEntry;
+    private final DoubleArrayLogEntry driveEncodersEntry;
+    private final DoubleArrayLogEntry odometryGyroEntry;
+    private final DoubleArrayLogEntry odometryDriveEntry;
+    private final DoubleArrayLogEntry odometryTurretEntry;
+    private final DoubleArrayLogEntry poseEntry;
+    private final DoubleArrayLogEntry driveOutputEntry;
+    private final DoubleArrayLogEntry turretOutputEntry;
+    private final IntegerLogEntry turretStateEntry;
+    private final DoubleArrayLogEntry ioOutputEntry;
+    private final DoubleLogEntry climberOutputEntry;
+    private final DoubleArrayLogEntry controlDriveOutputEntry;
+    private final DoubleLogEntry controlTurretOutputEntry;
+
+    // Arreglos reutilizados en cada loop
+    private final double[] axes = new double[kAxisCount];
+    private final double[] limelight = new double[6];
+    private final double[] gyroAngles = new double[4];
+    private final double[] driveEncoders = new double[4];
+    private final double[] pose = new double[3];
+    private final double[] driveOutput = new double[2];
+    private final double[] turretOutput = new double[3];
+    private final double[] ioOutput = new double[2];
+    private final double[] climberOutput = new double[1];
+    private final double[] turretState = new double[1];
+    private final double[] controlDriveOutput = new double[2];
+    // Un arreglo por cantidad de muestras: se crean la primera vez y después se reutilizan
+    private final double[][] odometryGyro = new double[OdometryThread.kMaxSamplesPerLoop + 1][];
+    private final double[][] odometryDrive = new double[OdometryThread.kMaxSamplesPerLoop + 1][];
+    private final double[][] odometryTurret = new double[OdometryThread.kMaxSamplesPerLoop + 1][];
+
+    private int lastTurretState = -1;
+    private int lastAllianceStation = -1;
+    private int lastTargetTag = -1;
+
+    public MatchLogger(Drivetrain drivetrain, Turret turret, IO io, Gyro gyro, Climber climber,
+            PoseEstimator poseEstimator) {
+        this.drivetrain = drivetrain;
+        this.turret = turret;
+        this.io = io;
+        this.gyro = gyro;
+        this.climber = climber;
+        this.poseEstimator = poseEstimator;
+
+        DataLog log = DataLogManager.getLog();
+        allianceStationEntry = new IntegerLogEntry(log, ALLIANCE_STATION);
+        targetTagEntry = new IntegerLogEntry(log, TARGET_TAG);
+        controllerAxesEntry = new DoubleArrayLogEntry(log, CONTROLLER_AXES);
+        controllerButtonsEntry = new IntegerLogEntry(log, CONTROLLER_BUTTONS);
+        limelightEntry = new DoubleArrayLogEntry(log, LIMELIGHT);
+        gyroEntry = new DoubleArrayLogEntry(log, GYRO);
+        turretEncoderEntry = new DoubleLogEntry(log, TURRET_ENCODER);
+        driveEncodersEntry = new DoubleArrayLogEntry(log, DRIVE_ENCODERS);
+        odometryGyroEntry = new DoubleArrayLogEntry(log, ODOMETRY_GYRO);
+        odometryDriveEntry = new DoubleArrayLogEntry(log, ODOMETRY_DRIVE);
+        odometryTurretEntry = new DoubleArrayLogEntry(log, ODOMETRY_TURRET);
+        poseEntry = new DoubleArrayLogEntry(log, POSE);
+        driveOutputEntry = new DoubleArrayLogEntry(log, DRIVE_OUTPUT);
+        turretOutputEntry = new DoubleArrayLogEntry(log, TURRET_OUTPUT);
+        turretStateEntry = new IntegerLogEntry(log, TURRET_STATE);
+        ioOutputEntry = new DoubleArrayLogEntry(log, IO_OUTPUT);
+        climberOutputEntry = new DoubleLogEntry(log, CLIMBER_OUTPUT);
+        controlDriveOutputEntry = new DoubleArrayLogEntry(log, CONTROL_DRIVE_OUTPUT);
+        controlTurretOutputEntry = new DoubleLogEntry(log, CONTROL_TURRET_OUTPUT);
+
+        // Los nombres de comandos ya están armados: no se formatea nada por evento
+        StringLogEntry commandStarted = new StringLogEntry(log, COMMAND_STARTED);
+        StringLogEntry commandEnded = new StringLogEntry(log, COMMAND_ENDED);
+        CommandScheduler.getInstance().onCommandInitialize(command -> commandStarted.append(command.getName()));
+        CommandScheduler.getInstance().onCommandFinish(command -> commandEnded.append(command.getName()));
+        CommandScheduler.getInstance().onCommandInterrupt(command -> commandEnded.append(command.getName()));
+    }
+
+    /**
+     * Inicia el log del match. Llamar al principio de robotInit, antes de crear los subsistemas.
+     */
+    public static void start() {
+        DataLogManager.start();
+        // Joysticks, modo y estado del DS también quedan en el log
+        DriverStation.startDataLog(DataLogManager.getLog());
+    }
+
+    /**
+     * Guarda entradas y salidas del loop actual. Llamar al final de robotPeriodic,
+     * después de que corrió el scheduler.
+     * @param vision Snapshot de la Limelight de este loop
+     * @param targetTag Tag objetivo con el que corrió este loop
+     */
+    public void log(VisionSample vision, int targetTag) {
+        // ==================== ENTRADAS ====================
+        if (targetTag != lastTargetTag) {
+            targetTagEntry.append(targetTag);
+            lastTargetTag = targetTag;
+        }
+        int station = DriverStation.getRawAllianceStation().ordinal();
+        if (station != lastAllianceStation) {
+            allianceStationEntry.append(station);
+            lastAllianceStation = station;
+        }
+
+        for (int i = 0; i < kAxisCount; i++) {
+            axes[i] = DriverStation.getStickAxis(0, i);
+        }
+        controllerAxesEntry.append(axes);
+        controllerButtonsEntry.append(DriverStation.getStickButtons(0));
+
+        limelight[0] = vision.getTimestampSeconds();
+        limelight[1] = vision.isValid() ? 1 : 0;
+        limelight[2] = vision.getTx();
+        limelight[3] = vision.getTid();
+        limelight[4] = vision.getPipelineLatencyMs();
+        limelight[5] = vision.getCaptureLatencyMs();
+        limelightEntry.append(limelight);
+
+        gyroAngles[0] = gyro.getYaw();
+        gyroAngles[1] = gyro.getPitch();
+        gyroAngles[2] = gyro.getRoll();
+        gyroAngles[3] = gyro.getYawRate();
+        gyroEntry.append(gyroAngles);
+
+        turretEncoderEntry.append(turret.getEncoderPosition());
+
+        driveEncoders[0] = drivetrain.getInputs().leftPositionMeters;
+        driveEncoders[1] = drivetrain.getInputs().rightPositionMeters;
+        driveEncoders[2] = drivetrain.getInputs().leftVelocityMetersPerSecond;
+        driveEncoders[3] = drivetrain.getInputs().rightVelocityMetersPerSecond;
+        driveEncodersEntry.append(driveEncoders);
+
+        GyroIO.Inputs gyroInputs = gyro.getInputs();
+        int samples = gyroInputs.odometrySamples;
+        double[] record = samplesRecord(odometryGyro, samples, 2);
+        System.arraycopy(gyroInputs.odometryTimestamps, 0, record, 0, samples);
+        System.arraycopy(gyroInputs.odometryYawDegrees, 0, record, samples, samples);
+        odometryGyroEntry.append(record);
+
+        DrivetrainIO.Inputs driveInputs = drivetrain.getInputs();
+        samples = driveInputs.odometrySamples;
+        record = samplesRecord(odometryDrive, samples, 3);
+        System.arraycopy(driveInputs.odometryTimestamps, 0, record, 0, samples);
+        System.arraycopy(driveInputs.odometryLeftPositionMeters, 0, record, samples, samples);
+        System.arraycopy(driveInputs.odometryRightPositionMeters, 0, record, 2 * samples, samples);
+        odometryDriveEntry.append(record);
+
+        TurretIO.Inputs turretInputs = turret.getInputs();
+        samples = turretInputs.odometrySamples;
+        record = samplesRecord(odometryTurret, samples, 2);
+        System.arraycopy(turretInputs.odometryTimestamps, 0, record, 0, samples);
+        System.arraycopy(turretInputs.odometryPositionRotations, 0, record, samples, samples);
+        odometryTurretEntry.append(record);
+
+        // ==================== SALIDAS ====================
+        sampleOutputs();
+        driveOutputEntry.append(driveOutput);
+        turretOutputEntry.append(turretOutput);
+
+        int state = (int) turretState[0];
+        if (state != lastTurretState) {
+            turretStateEntry.append(state);
+            lastTurretState = state;
+        }
+
+        ioOutputEntry.append(ioOutput);
+        climberOutputEntry.append(climberOutput[0]);
+
+        // ==================== ESTIMACIÓN ====================
+        pose[0] = poseEstimator.getPose().getX();
+        pose[1] = poseEstimator.getPose().getY();
+        pose[2] = poseEstimator.getPose().getRotation().getDegrees();
+        poseEntry.append(pose);
+    }
+
+    /**
+     * Guarda lo que el grupo de control rápido le mandó al drivetrain.
+     */
+    public void logDriveRefresh() {
+        controlDriveOutput[0] = drivetrain.getRefreshedLeftOutput();
+        controlDriveOutput[1] = drivetrain.getRefreshedRightOutput();
+        controlDriveOutputEntry.append(controlDriveOutput);
+    }
+
+    /**
+     * Guarda el setpoint que el grupo de control rápido le mandó a la torreta.
+     */
+    public void logTurretCompensation() {
+        controlTurretOutputEntry.append(turret.getCompensatedSetpoint());
+    }
+
+    private static double[] samplesRecord(double[][] bySampleCount, int samples, int columns) {
+        if (bySampleCount[samples] == null) {
+            bySampleCount[samples] = new double[samples * columns];
+        }
+        return bySampleCount[samples];
+    }
+
+    /**
+     * Lee las salidas actuales de los subsistemas. El replay usa esta misma lectura
+     * para comparar contra lo grabado, así las dos nunca se separan.
+     */
+    public void sampleOutputs() {
+        driveOutput[0] = drivetrain.getLeftOutput();
+        driveOutput[1] = drivetrain.getRightOutput();
+
+        turretOutput[0] = turret.getLastDutyCycle();
+        turretOutput[1] = turret.getPositionSetpoint();
+        turretOutput[2] = turret.getFeedforward();
+        turretState[0] = turret.getState().ordinal();
+
+        ioOutput[0] = io.getMotor1Output();
+        ioOutput[1] = io.getMotor2Output();
+
+        climberOutput[0] = climber.getOutput();
+    }
+
+    /**
+     * @param key Una de las entradas de /Outputs
+     * @return Valores de la última llamada a {@link #sampleOutputs()}, o null si la clave no es una salida
+     */
+    public double[] getSampledOutput(String key) {
+        switch (key) {
+            case DRIVE_OUTPUT: return driveOutput;
+            case TURRET_OUTPUT: return turretOutput;
+            case TURRET_STATE: return turretState;
+            case IO_OUTPUT: return ioOutput;
+            case CLIMBER_OUTPUT: return climberOutput;
+            default: return null;
+        }
+    }
+}
@@ -0,0 +1,300 @@
+package frc.robot.replay;
+
+import edu.wpi.first.hal.AllianceStationID;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.RobotContainer;
+import frc.robot.logging.MatchLogger;
+import frc.robot.subsystems.io.DrivetrainIO;
+import frc.robot.subsystems.io.GyroIO;
+import frc.robot.subsystems.io.TurretIO;
+
+/**
+ * Inyecta las entradas grabadas de un loop antes de que el robot lo corra.
+ *
+ * <p>Las entradas que {@link MatchLogger} escribe una vez por loop se emparejan por
+ * índice (el registro i es el loop i). El modo del DS, la alianza y el tag objetivo del
+ * dashboard, que solo se graban cuando cambian, se toman con retención hasta el
+ * timestamp del loop.
+ *
+ * <p>El estimador de pose corre entre loops (grupo "Pose"). Cada corrida quedó grabada
+ * con la cantidad de frames de botpose que leyó, así el replay la repite en el mismo
+ * instante y con los mismos frames (ver {@link #applyPoseUpdate()}).
+ *
+ * <p>Los sensores se escriben en las capas IO de replay, así que el robot ve exactamente
+ * los mismos valores que leyó en el match. Las entradas que la lógica no usa (corrientes,
+ * duty cycle aplicado) no se graban y quedan en 0.
+ */
+class ReplayInputs {
+
+    private static final int kAxisCount = 6;
+    private static final int kButtonCount = 10;
+
+    // Índices dentro de /Inputs/Limelight
+    private static final int LL_TIMESTAMP = 0;
+    private static final int LL_VALID = 1;
+    private static final int LL_TX = 2;
+    private static final int LL_TID = 3;
+    private static final int LL_PIPELINE_LATENCY = 4;
+    private static final int LL_CAPTURE_LATENCY = 5;
+
+    private final ReplayLog.Series axes;
+    private final ReplayLog.Series buttons;
+    private final ReplayLog.Series limelight;
+    private final ReplayLog.Series limelightFrames;
+    private final ReplayLog.Series gyro;
+    private final ReplayLog.Series turretEncoder;
+    private final ReplayLog.Series driveEncoders;
+    private final ReplayLog.Series botpose;
+    private final ReplayLog.Series poseUpdates;
+    private final ReplayLog.Series odometryGyro;
+    private final ReplayLog.Series odometryDrive;
+    private final ReplayLog.Series odometryTurret;
+    private final ReplayLog.Series allianceStation;
+    private final ReplayLog.Series targetTag;
+    private final ReplayLog.Series enabled;
+    private final ReplayLog.Series autonomous;
+    private final ReplayLog.Series test;
+
+    private final TurretIO.Inputs turretInputs;
+    private final GyroIO.Inputs gyroInputs;
+    private final DrivetrainIO.Inputs drivetrainInputs;
+    private final DoubleArrayPublisher t2dPublisher;
+    private final DoubleArrayPublisher botposePublisher;
+    private int nextBotpose = 0;
+    private int nextPoseUpdate = 0;
+    private int nextLimelightFrame = 0;
+    // Mismo formato que publica la Limelight: [valid, count, tl, cl, tx, ty, txnc, tync, ta, tid]
+    private final double[] t2d = new double[10];
+    private double lastFrameTimestamp = Double.NaN;
+
+    ReplayInputs(ReplayLog log, ReplayRobot robot) {
+        axes = require(log, MatchLogger.CONTROLLER_AXES);
+        buttons = require(log, MatchLogger.CONTROLLER_BUTTONS);
+        limelight = require(log, MatchLogger.LIMELIGHT);
+        gyro = require(log, MatchLogger.GYRO);
+        turretEncoder = require(log, MatchLogger.TURRET_ENCODER);
+        // Logs anteriores a grabar la alianza: queda la del DS simulado
+        allianceStation = log.get(MatchLogger.ALLIANCE_STATION);
+        // Logs anteriores a grabar el tag del dashboard: queda el de la alianza
+        targetTag = log.get(MatchLogger.TARGET_TAG);
+        enabled = log.get("DS:enabled");
+        autonomous = log.get("DS:autonomous");
+        test = log.get("DS:test");
+        // Logs anteriores al estimador de pose no las tienen
+        driveEncoders = log.get(MatchLogger.DRIVE_ENCODERS);
+        botpose = log.get(MatchLogger.BOTPOSE);
+        // Logs anteriores a grabar los updates del estimador: se corre uno después de cada loop
+        poseUpdates = log.get(MatchLogger.POSE_UPDATES);
+        // Logs anteriores a grabar cada frame: solo está el último de cada loop
+        limelightFrames = log.get(MatchLogger.LIMELIGHT_FRAMES);
+        // Logs anteriores al thread de odometría: una muestra por loop
+        odometryGyro = log.get(MatchLogger.ODOMETRY_GYRO);
+        odometryDrive = log.get(MatchLogger.ODOMETRY_DRIVE);
+        odometryTurret = log.get(MatchLogger.ODOMETRY_TURRET);
+
+        turretInputs = robot.turretIO.getRecorded();
+        gyroInputs = robot.gyroIO.getRecorded();
+        drivetrainInputs = robot.drivetrainIO.getRecorded();
+        t2dPublisher = NetworkTableInstance.getDefault().getTable("limelight").getDoubleArrayTopic("t2d").publish();
+        botposePublisher = NetworkTableInstance.getDefault().getTable("limelight")
+            .getDoubleArrayTopic("botpose_wpiblue").publish();
+
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setJoystickAxisCount(0, kAxisCount);
+        DriverStationSim.setJoystickButtonCount(0, kButtonCount);
+    }
+
+    private static ReplayLog.Series require(ReplayLog log, String name) {
+        ReplayLog.Series s = log.get(name);
+        if (s == null) {
+            throw new IllegalArgumentException("El log no tiene la entrada " + name);
+        }
+        return s;
+    }
+
+    /**
+     * @return Cantidad de loops completos en el log
+     */
+    int getLoopCount() {
+        return Math.min(Math.min(axes.size(), buttons.size()),
+            Math.min(Math.min(limelight.size(), gyro.size()), turretEncoder.size()));
+    }
+
+    /**
+     * @return Timestamp (us) con el que se grabó el loop
+     */
+    long getLoopTimestamp(int loop) {
+        return axes.getTimestamp(loop);
+    }
+
+    /**
+     * Carga en el DS, la red y el hardware simulado las entradas del loop.
+     */
+    void apply(int loop) {
+        long timestamp = getLoopTimestamp(loop);
+
+        // ==================== DRIVER STATION ====================
+        // La alianza va antes del modo: autonomousInit y teleopInit ya la consultan
+        if (allianceStation != null) {
+            int station = (int) allianceStation.scalarAt(timestamp, AllianceStationID.Unknown.ordinal());
+            DriverStationSim.setAllianceStationId(AllianceStationID.values()[station]);
+        }
+        DriverStationSim.setEnabled(enabled != null && enabled.scalarAt(timestamp, 0) != 0);
+        DriverStationSim.setAutonomous(autonomous != null && autonomous.scalarAt(timestamp, 0) != 0);
+        DriverStationSim.setTest(test != null && test.scalarAt(timestamp, 0) != 0);
+
+        double[] axisValues = axes.getValue(loop);
+        for (int i = 0; i < kAxisCount && i < axisValues.length; i++) {
+            DriverStationSim.setJoystickAxis(0, i, axisValues[i]);
+        }
+        DriverStationSim.setJoystickButtons(0, (int) buttons.getValue(loop)[0]);
+        DriverStationSim.notifyNewData();
+
+        // ==================== DASHBOARD ====================
+        // El loop lo lee en updateInputs, después de los init que también lo escriben
+        if (targetTag != null && targetTag.indexAt(timestamp) >= 0) {
+            SmartDashboard.putNumber(RobotContainer.TARGET_TAG_KEY, targetTag.scalarAt(timestamp, 0));
+        }
+
+        // ==================== LIMELIGHT ====================
+        if (limelightFrames != null) {
+            // Todos los frames que el loop leyó, con su timestamp de NetworkTables
+            while (nextLimelightFrame < limelightFrames.size()
+                    && limelightFrames.getTimestamp(nextLimelightFrame) <= timestamp) {
+                t2dPublisher.set(limelightFrames.getValue(nextLimelightFrame),
+                    limelightFrames.getTimestamp(nextLimelightFrame));
+                nextLimelightFrame++;
+            }
+        } else {
+            applyLastFrame(loop);
+        }
+
+        // Logs viejos: botpose hasta el loop, para el update que corre después
+        if (poseUpdates == null) {
+            while (botpose != null && nextBotpose < botpose.size() && botpose.getTimestamp(nextBotpose) <= timestamp) {
+                publishNextBotpose();
+            }
+        }
+
+        // ==================== SENSORES ====================
+        double[] angles = gyro.getValue(loop);
+        gyroInputs.connected = true;
+        gyroInputs.yawDegrees = angles[0];
+        gyroInputs.pitchDegrees = angles[1];
+        gyroInputs.rollDegrees = angles[2];
+        // Logs anteriores no tenían yaw rate
+        gyroInputs.yawRateDegreesPerSecond = angles.length > 3 ? angles[3] : 0.0;
+        gyroInputs.timestampSeconds = timestamp / 1e6;
+
+        turretInputs.positionRotations = turretEncoder.getValue(loop)[0];
+
+        if (driveEncoders != null && loop < driveEncoders.size()) {
+            double[] encoders = driveEncoders.getValue(loop);
+            drivetrainInputs.leftPositionMeters = encoders[0];
+            drivetrainInputs.rightPositionMeters = encoders[1];
+            drivetrainInputs.leftVelocityMetersPerSecond = encoders[2];
+            drivetrainInputs.rightVelocityMetersPerSecond = encoders[3];
+        }
+
+        // ==================== ODOMETRÍA ====================
+        double loopSeconds = timestamp / 1e6;
+        if (odometryGyro != null && loop < odometryGyro.size()) {
+            double[] record = odometryGyro.getValue(loop);
+            int samples = record.length / 2;
+            gyroInputs.odometrySamples = samples;
+            System.arraycopy(record, 0, gyroInputs.odometryTimestamps, 0, samples);
+            System.arraycopy(record, samples, gyroInputs.odometryYawDegrees, 0, samples);
+            if (samples > 0) {
+                gyroInputs.timestampSeconds = record[samples - 1];
+            }
+        } else {
+            gyroInputs.odometrySamples = 1;
+            gyroInputs.odometryTimestamps[0] = loopSeconds;
+            gyroInputs.odometryYawDegrees[0] = gyroInputs.yawDegrees;
+        }
+
+        if (odometryDrive != null && loop < odometryDrive.size()) {
+            double[] record = odometryDrive.getValue(loop);
+            int samples = record.length / 3;
+            drivetrainInputs.odometrySamples = samples;
+            System.arraycopy(record, 0, drivetrainInputs.odometryTimestamps, 0, samples);
+            System.arraycopy(record, samples, drivetrainInputs.odometryLeftPositionMeters, 0, samples);
+            System.arraycopy(record, 2 * samples, drivetrainInputs.odometryRightPositionMeters, 0, samples);
+        } else {
+            drivetrainInputs.odometrySamples = 1;
+            drivetrainInputs.odometryTimestamps[0] = loopSeconds;
+            drivetrainInputs.odometryLeftPositionMeters[0] = drivetrainInputs.leftPositionMeters;
+            drivetrainInputs.odometryRightPositionMeters[0] = drivetrainInputs.rightPositionMeters;
+        }
+
+        if (odometryTurret != null && loop < odometryTurret.size()) {
+            double[] record = odometryTurret.getValue(loop);
+            int samples = record.length / 2;
+            turretInputs.odometrySamples = samples;
+            System.arraycopy(record, 0, turretInputs.odometryTimestamps, 0, samples);
+            System.arraycopy(record, samples, turretInputs.odometryPositionRotations, 0, samples);
+        } else {
+            turretInputs.odometrySamples = 1;
+            turretInputs.odometryTimestamps[0] = loopSeconds;
+            turretInputs.odometryPositionRotations[0] = turretInputs.positionRotations;
+        }
+    }
+
+    /**
+     * @return true si el log tiene los updates del estimador de pose (si no, el replay
+     *     corre uno después de cada loop)
+     */
+    boolean hasPoseUpdates() {
+        return poseUpdates != null;
+    }
+
+    /**
+     * @return Timestamp (us) del próximo update del estimador, o Long.MAX_VALUE si no quedan
+     */
+    long getNextPoseUpdateTimestamp() {
+        return poseUpdates != null && nextPoseUpdate < poseUpdates.size()
+            ? poseUpdates.getTimestamp(nextPoseUpdate) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Publica los frames de botpose que leyó el próximo update del estimador.
+     * Llamar con el reloj ya en {@link #getNextPoseUpdateTimestamp()}.
+     */
+    void applyPoseUpdate() {
+        int frames = (int) poseUpdates.getValue(nextPoseUpdate)[0];
+        for (int i = 0; i < frames && botpose != null && nextBotpose < botpose.size(); i++) {
+            publishNextBotpose();
+        }
+        nextPoseUpdate++;
+    }
+
+    // botpose se grabó frame por frame con su timestamp de NetworkTables
+    private void publishNextBotpose() {
+        botposePublisher.set(botpose.getValue(nextBotpose), botpose.getTimestamp(nextBotpose));
+        nextBotpose++;
+    }
+
+    /**
+     * Logs viejos: solo se grabó el último frame de cada loop, que se republica cuando cambia.
+     */
+    private void applyLastFrame(int loop) {
+        double[] frame = limelight.getValue(loop);
+        if (frame[LL_TIMESTAMP] == lastFrameTimestamp) {
+            return;
+        }
+        lastFrameTimestamp = frame[LL_TIMESTAMP];
+        t2d[0] = frame[LL_VALID];
+        t2d[1] = frame[LL_VALID];
+        t2d[2] = frame[LL_PIPELINE_LATENCY];
+        t2d[3] = frame[LL_CAPTURE_LATENCY];
+        t2d[4] = frame[LL_TX];
+        t2d[9] = frame[LL_TID];
+        // El snapshot guarda el tiempo de captura; la Limelight publica después de la latencia
+        double publishSeconds = frame[LL_TIMESTAMP]
+            + (frame[LL_PIPELINE_LATENCY] + frame[LL_CAPTURE_LATENCY]) / 1000.0;
+        t2dPublisher.set(t2d, (long) (publishSeconds * 1e6));
+    }
+}
@@ -0,0 +1,172 @@
+package frc.robot.replay;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.wpi.first.util.datalog.DataLogReader;
+import edu.wpi.first.util.datalog.DataLogRecord;
+
+/**
+ * WPILOG cargado en memoria como series de tiempo numéricas.
+ *
+ * <p>Todos los valores se guardan como arreglos de double (los escalares como arreglos
+ * de largo 1, los booleanos como 0/1) para que el replay los trate igual sin importar
+ * el tipo de la entrada. Las entradas de texto se ignoran.
+ */
+public class ReplayLog {
+
+    private final Map<String, Series> series = new HashMap<>();
+
+    private ReplayLog() {}
+
+    /**
+     * Lee un WPILOG completo.
+     * @param path Archivo .wpilog
+     */
+    public static ReplayLog load(String path) throws IOException {
+        DataLogReader reader = new DataLogReader(path);
+        if (!reader.isValid()) {
+            throw new IOException("No es un WPILOG válido: " + path);
+        }
+
+        ReplayLog log = new ReplayLog();
+        Map<Integer, Series> byEntry = new HashMap<>();
+        Map<Integer, String> types = new HashMap<>();
+
+        for (DataLogRecord record : reader) {
+            if (record.isStart()) {
+                DataLogRecord.StartRecordData start = record.getStartData();
+                Series s = log.series.computeIfAbsent(start.name, name -> new Series());
+                byEntry.put(start.entry, s);
+                types.put(start.entry, start.type);
+                continue;
+            }
+            if (record.isControl()) {
+                continue;
+            }
+
+            Series s = byEntry.get(record.getEntry());
+            if (s == null) {
+                continue;
+            }
+            double[] value = decode(record, types.get(record.getEntry()));
+            if (value != null) {
+                s.add(record.getTimestamp(), value);
+            }
+        }
+        return log;
+    }
+
+    private static double[] decode(DataLogRecord record, String type) {
+        switch (type) {
+            case "double":
+                return new double[] {record.getDouble()};
+            case "float":
+                return new double[] {record.getFloat()};
+            case "int64":
+                return new double[] {record.getInteger()};
+            case "boolean":
+                return new double[] {record.getBoolean() ? 1 : 0};
+            case "double[]":
+                return record.getDoubleArray();
+            case "float[]": {
+                float[] values = record.getFloatArray();
+                double[] out = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    out[i] = values[i];
+                }
+                return out;
+            }
+            case "int64[]": {
+                long[] values = record.getIntegerArray();
+                double[] out = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    out[i] = values[i];
+                }
+                return out;
+            }
+            case "boolean[]": {
+                boolean[] values = record.getBooleanArray();
+                double[] out = new double[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    out[i] = values[i] ? 1 : 0;
+                }
+                return out;
+            }
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @return Serie de la entrada, o null si el log no la tiene
+     */
+    public Series get(String name) {
+        return series.get(name);
+    }
+
+    /**
+     * Valores de una entrada ordenados por timestamp (microsegundos FPGA).
+     */
+    public static final class Series {
+        private long[] timestamps = new long[256];
+        private double[][] values = new double[256][];
+        private int size = 0;
+
+        private void add(long timestamp, double[] value) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            timestamps[size] = timestamp;
+            values[size] = value;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long getTimestamp(int index) {
+            return timestamps[index];
+        }
+
+        public double[] getValue(int index) {
+            return values[index];
+        }
+
+        /**
+         * @return Índice del último registro con timestamp <= t, o -1 si no hay ninguno
+         */
+        public int indexAt(long timestamp) {
+            int i = Arrays.binarySearch(timestamps, 0, size, timestamp);
+            if (i < 0) {
+                return -(i + 1) - 1;
+            }
+            // Con timestamps repetidos, quedarse con el último
+            while (i + 1 < size && timestamps[i + 1] == timestamp) {
+                i++;
+            }
+            return i;
+        }
+
+        /**
+         * Muestreo con retención: el último valor registrado hasta t.
+         * @return Valor vigente en t, o null si todavía no se registró nada
+         */
+        public double[] valueAt(long timestamp) {
+            int i = indexAt(timestamp);
+            return i < 0 ? null : values[i];
+        }
+
+        /**
+         * @return Primer elemento del valor vigente en t, o fallback si no hay
+         */
+        public double scalarAt(long timestamp, double fallback) {
+            double[] value = valueAt(timestamp);
+            return value == null || value.length == 0 ? fallback : value[0];
+        }
+    }
+}
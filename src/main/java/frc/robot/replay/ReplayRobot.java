@@ -0,0 +1,49 @@
+package frc.robot.replay;
+
+import frc.robot.Robot;
+import frc.robot.RobotContainer;
+import frc.robot.subsystems.io.ClimberIOReplay;
+import frc.robot.subsystems.io.DrivetrainIOReplay;
+import frc.robot.subsystems.io.GyroIOReplay;
+import frc.robot.subsystems.io.IntakeIOReplay;
+import frc.robot.subsystems.io.TurretIOReplay;
+
+/**
+ * El mismo Robot del match, con el hardware reemplazado por las capas de replay.
+ * El loop lo avanza el replay en vez del notifier de TimedRobot. Cada {@link #step()}
+ * es un loop completo: refresco del DS, cambio de modo (init/exit), xxxPeriodic,
+ * robotPeriodic y flush de NetworkTables. El estimador de pose corre aparte con
+ * {@link #stepPoseEstimator()}, en los instantes en que lo corrió su grupo de addPeriodic
+ * en el robot (el notifier de TimedRobot acá no corre).
+ *
+ * <p>Los grupos de control rápido y de telemetría no se reproducen. Telemetría solo
+ * publica; el tag objetivo del dashboard se lee en el loop principal y el replay lo
+ * inyecta como entrada. Lo que el grupo de control manda a los motores entre loops
+ * depende de las muestras más nuevas del thread de odometría en ese instante: queda
+ * grabado en /Outputs/Control pero no se compara.
+ */
+class ReplayRobot extends Robot {
+
+    final DrivetrainIOReplay drivetrainIO = new DrivetrainIOReplay();
+    final TurretIOReplay turretIO = new TurretIOReplay();
+    final IntakeIOReplay intakeIO = new IntakeIOReplay();
+    final GyroIOReplay gyroIO = new GyroIOReplay();
+    final ClimberIOReplay climberIO = new ClimberIOReplay();
+
+    @Override
+    protected RobotContainer createContainer() {
+        return new RobotContainer(drivetrainIO, turretIO, intakeIO, gyroIO, climberIO);
+    }
+
+    void step() {
+        loopFunc();
+    }
+
+    void stepPoseEstimator() {
+        updatePoseEstimator();
+    }
+
+    RobotContainer container() {
+        return getContainer();
+    }
+}
@@ -0,0 +1,253 @@
+package frc.robot.replay;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.SimHooks;
+import frc.robot.logging.MatchLogger;
+
+/**
+ * Reproduce WPILOGs de matches contra el código actual, más rápido que tiempo real.
+ *
+ * <p>Por cada loop grabado: inyecta las entradas ({@link ReplayInputs}), avanza el
+ * reloj simulado hasta el timestamp grabado, corre un loop completo del robot y
+ * compara las salidas contra /Outputs. Así un cambio en la lógica de la torreta o del
+ * auto-turn se puede probar contra matches reales sin robot.
+ *
+ * <p>Uso: {@code ./gradlew replay -PreplayLogs=<archivo o carpeta>[,...]}. Cada log corre
+ * en su propio proceso porque el HAL, el CommandScheduler y los SPARK simulados son
+ * globales; los procesos corren en paralelo, uno por núcleo. La salida del robot
+ * reproducido queda en {@code build/replay} para abrirla en AdvantageScope.
+ *
+ * <p>Sale con código 1 si algún log no coincide dentro de la tolerancia
+ * ({@code -Dreplay.tolerance}, por defecto 1e-6).
+ */
+public final class ReplayRunner {
+
+    private static final String kSingleFlag = "--single";
+    private static final String[] kOutputs = {
+        MatchLogger.DRIVE_OUTPUT,
+        MatchLogger.TURRET_OUTPUT,
+        MatchLogger.TURRET_STATE,
+        MatchLogger.IO_OUTPUT,
+        MatchLogger.CLIMBER_OUTPUT
+    };
+
+    private ReplayRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].equals(kSingleFlag)) {
+            boolean matched = replay(args[1], Double.parseDouble(System.getProperty("replay.tolerance", "1e-6")));
+            // Los threads del HAL y de NetworkTables no dejan terminar la JVM sola
+            System.exit(matched ? 0 : 1);
+        }
+
+        List<File> logs = new ArrayList<>();
+        for (String arg : args) {
+            collectLogs(new File(arg), logs);
+        }
+        if (logs.isEmpty()) {
+            System.err.println("No se encontraron archivos .wpilog");
+            System.exit(2);
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<Future<Integer>> results = new ArrayList<>();
+        for (File log : logs) {
+            results.add(pool.submit(() -> runChild(log)));
+        }
+
+        int failed = 0;
+        for (int i = 0; i < logs.size(); i++) {
+            if (results.get(i).get() != 0) {
+                failed++;
+            }
+        }
+        pool.shutdown();
+
+        System.out.println("==== Replay: " + (logs.size() - failed) + "/" + logs.size() + " logs coinciden ====");
+        System.exit(failed == 0 ? 0 : 1);
+    }
+
+    private static void collectLogs(File file, List<File> out) {
+        if (file.isDirectory()) {
+            File[] children = file.listFiles();
+            if (children != null) {
+                Arrays.sort(children);
+                for (File child : children) {
+                    collectLogs(child, out);
+                }
+            }
+        } else if (file.getName().endsWith(".wpilog")) {
+            out.add(file);
+        }
+    }
+
+    /**
+     * Corre un log en un proceso hijo con el mismo classpath y librerías nativas.
+     */
+    private static int runChild(File log) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("-Djava.library.path=" + System.getProperty("java.library.path"));
+        command.add("-Dreplay.tolerance=" + System.getProperty("replay.tolerance", "1e-6"));
+        command.add(ReplayRunner.class.getName());
+        command.add(kSingleFlag);
+        command.add(log.getPath());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        // Se imprime todo junto al final para que no se mezcle con los otros logs
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        int exitCode = process.waitFor();
+        synchronized (System.out) {
+            System.out.println("---- " + log.getName() + " ----");
+            System.out.print(output);
+        }
+        return exitCode;
+    }
+
+    /**
+     * Reproduce un log en este proceso.
+     * @return true si todas las salidas coinciden dentro de la tolerancia
+     */
+    private static boolean replay(String path, double tolerance) throws IOException {
+        ReplayLog log = ReplayLog.load(path);
+
+        HAL.initialize(500, 0);
+        // El reloj solo avanza cuando el replay lo pide
+        SimHooks.pauseTiming();
+        // Se arranca acá para que MatchLogger.start() no escriba en la carpeta de logs reales
+        DataLogManager.start("build/replay");
+
+        ReplayRobot robot = new ReplayRobot();
+        robot.robotInit();
+        ReplayInputs inputs = new ReplayInputs(log, robot);
+        MatchLogger logger = robot.container().getLogger();
+
+        OutputDiff[] diffs = new OutputDiff[kOutputs.length];
+        for (int i = 0; i < kOutputs.length; i++) {
+            diffs[i] = new OutputDiff(kOutputs[i], log.get(kOutputs[i]), log.get(MatchLogger.IO_OUTPUT));
+        }
+
+        int loops = inputs.getLoopCount();
+        long startTime = System.nanoTime();
+        for (int loop = 0; loop < loops; loop++) {
+            long timestamp = inputs.getLoopTimestamp(loop);
+            // Los updates del estimador que corrieron entre el loop anterior y este
+            while (inputs.getNextPoseUpdateTimestamp() < timestamp) {
+                advanceClock(inputs.getNextPoseUpdateTimestamp());
+                inputs.applyPoseUpdate();
+                robot.stepPoseEstimator();
+            }
+            advanceClock(timestamp);
+
+            inputs.apply(loop);
+            robot.step();
+            if (!inputs.hasPoseUpdates()) {
+                robot.stepPoseEstimator();
+            }
+
+            logger.sampleOutputs();
+            for (OutputDiff diff : diffs) {
+                diff.compare(loop, timestamp, logger.getSampledOutput(diff.key), tolerance);
+            }
+        }
+        double elapsed = (System.nanoTime() - startTime) / 1e9;
+
+        boolean matched = true;
+        System.out.printf("%d loops (%.1f s de match) en %.2f s%n", loops, loops * robot.getPeriod(), elapsed);
+        for (OutputDiff diff : diffs) {
+            System.out.println(diff.summary());
+            matched &= diff.mismatches == 0;
+        }
+        System.out.println(matched ? "OK" : "DIFERENCIAS");
+        return matched;
+    }
+
+    /**
+     * Avanza el reloj simulado hasta un timestamp (us) grabado.
+     */
+    private static void advanceClock(long timestamp) {
+        double step = (timestamp - RobotController.getFPGATime()) / 1e6;
+        if (step > 0) {
+            SimHooks.stepTiming(step);
+        }
+    }
+
+    /**
+     * Compara una salida contra lo grabado y acumula el error.
+     */
+    private static final class OutputDiff {
+        final String key;
+        private final ReplayLog.Series recorded;
+        // El estado de la torreta se graba antes que /Outputs/IO en el mismo loop
+        private final ReplayLog.Series loopEnd;
+        private int mismatches = 0;
+        private int firstMismatchLoop = -1;
+        private long firstMismatchTime = 0;
+        private double maxError = 0.0;
+
+        OutputDiff(String key, ReplayLog.Series recorded, ReplayLog.Series loopEnd) {
+            this.key = key;
+            this.recorded = recorded;
+            this.loopEnd = loopEnd;
+        }
+
+        void compare(int loop, long timestamp, double[] actual, double tolerance) {
+            if (recorded == null) {
+                return;
+            }
+            // TURRET_STATE solo se graba cuando cambia; las demás salidas una vez por loop
+            double[] expected;
+            if (key.equals(MatchLogger.TURRET_STATE)) {
+                expected = loopEnd != null && loop < loopEnd.size() ? recorded.valueAt(loopEnd.getTimestamp(loop)) : null;
+            } else {
+                expected = loop < recorded.size() ? recorded.getValue(loop) : null;
+            }
+            if (expected == null) {
+                return;
+            }
+
+            double error = 0.0;
+            for (int i = 0; i < expected.length && i < actual.length; i++) {
+                if (Double.isNaN(expected[i]) || Double.isNaN(actual[i])) {
+                    // NaN solo coincide con NaN (setpoint en duty cycle)
+                    error = Math.max(error, Double.isNaN(expected[i]) == Double.isNaN(actual[i]) ? 0 : 1);
+                } else {
+                    error = Math.max(error, Math.abs(expected[i] - actual[i]));
+                }
+            }
+            maxError = Math.max(maxError, error);
+            if (error > tolerance) {
+                if (mismatches == 0) {
+                    firstMismatchLoop = loop;
+                    firstMismatchTime = timestamp;
+                }
+                mismatches++;
+            }
+        }
+
+        String summary() {
+            if (recorded == null) {
+                return String.format("  %-24s sin datos en el log", key);
+            }
+            if (mismatches == 0) {
+                return String.format("  %-24s OK (error máx %.3g)", key, maxError);
+            }
+            return String.format("  %-24s %d loops distintos, primero en loop %d (t=%.3f s), error máx %.3g",
+                key, mismatches, firstMismatchLoop, firstMismatchTime / 1e6, maxError);
+        }
+    }
+}
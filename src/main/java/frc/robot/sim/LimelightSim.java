@@ -0,0 +1,171 @@
+package frc.robot.sim;
+
+import java.util.List;
+
+import edu.wpi.first.apriltag.AprilTag;
+import edu.wpi.first.apriltag.AprilTagFieldLayout;
+import edu.wpi.first.apriltag.AprilTagFields;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.vision.TurretCameraMount;
+
+/**
+ * Limelight simulada sobre la torreta. Con la pose del robot y el ángulo de la torreta
+ * calcula qué AprilTag del layout oficial ve la cámara y publica t2d, tx, tv, tid, tl,
+ * cl y botpose_wpiblue en la misma tabla que la Limelight real. Como en el robot, la
+ * pose de la cámara respecto del robot está en cero: botpose es la pose de la cámara.
+ *
+ * <p>Los frames se publican {@code kFrameDelayLoops} loops después de capturados,
+ * con tl + cl igual a esa demora, así la compensación de latencia se prueba contra
+ * un retraso real y no solo contra el número reportado.
+ */
+public class LimelightSim {
+
+    // ==================== CÁMARA ====================
+    private static final double kHorizontalFovDegrees = 62.5;
+    private static final double kMaxRangeMeters = 6.0;
+    private static final double kCaptureLatencyMs = 11.0;
+    private static final int kFrameDelayLoops = 2;
+
+    // ==================== TAGS ====================
+    private final int[] tagIds;
+    private final double[] tagX;
+    private final double[] tagY;
+    private final double[] tagFacing;   // radianes, hacia donde mira el tag
+
+    // ==================== FRAMES ====================
+    // Ring de frames capturados: [timestamp, tv, tx, tid, x, y, yaw (grados), tags, distancia promedio]
+    private final double[][] frames = new double[kFrameDelayLoops + 1][9];
+    private int frameHead = 0;
+    private int frameCount = 0;
+    // [valid, count, tl, cl, tx, ty, txnc, tync, ta, tid]
+    private final double[] t2d = new double[10];
+    // [x, y, z, roll, pitch, yaw, latencia total, tags, span, distancia promedio, área]
+    private final double[] botpose = new double[11];
+
+    private final DoubleArrayPublisher t2dPub;
+    private final DoubleArrayPublisher botposePub;
+    private final DoublePublisher txPub;
+    private final DoublePublisher tvPub;
+    private final DoublePublisher tidPub;
+    private final DoublePublisher tlPub;
+    private final DoublePublisher clPub;
+
+    public LimelightSim(String tableName) {
+        List<AprilTag> tags = AprilTagFieldLayout.loadField(AprilTagFields.kDefaultField).getTags();
+        tagIds = new int[tags.size()];
+        tagX = new double[tags.size()];
+        tagY = new double[tags.size()];
+        tagFacing = new double[tags.size()];
+        for (int i = 0; i < tags.size(); i++) {
+            AprilTag tag = tags.get(i);
+            tagIds[i] = tag.ID;
+            tagX[i] = tag.pose.getX();
+            tagY[i] = tag.pose.getY();
+            tagFacing[i] = tag.pose.getRotation().getZ();
+        }
+
+        NetworkTable table = NetworkTableInstance.getDefault().getTable(tableName);
+        t2dPub = table.getDoubleArrayTopic("t2d").publish();
+        botposePub = table.getDoubleArrayTopic("botpose_wpiblue").publish();
+        txPub = table.getDoubleTopic("tx").publish();
+        tvPub = table.getDoubleTopic("tv").publish();
+        tidPub = table.getDoubleTopic("tid").publish();
+        tlPub = table.getDoubleTopic("tl").publish();
+        clPub = table.getDoubleTopic("cl").publish();
+    }
+
+    /**
+     * Captura un frame con la pose actual y publica el que ya cumplió la latencia.
+     * @param robotPose Pose real del robot
+     * @param turretAngleDegrees Ángulo real de la torreta respecto del chasis (antihorario positivo)
+     */
+    public void update(Pose2d robotPose, double turretAngleDegrees) {
+        double now = Timer.getFPGATimestamp();
+        capture(now, robotPose, turretAngleDegrees);
+
+        if (frameCount <= kFrameDelayLoops) {
+            return;
+        }
+        double[] frame = frames[frameHead];   // el más viejo del ring
+        double totalLatencyMs = (now - frame[0]) * 1000.0;
+
+        t2d[0] = frame[1];
+        t2d[1] = frame[1];
+        t2d[2] = totalLatencyMs - kCaptureLatencyMs;
+        t2d[3] = kCaptureLatencyMs;
+        t2d[4] = frame[2];
+        t2d[9] = frame[3];
+        t2dPub.set(t2d);
+        txPub.set(frame[2]);
+        tvPub.set(frame[1]);
+        tidPub.set(frame[3]);
+        tlPub.set(t2d[2]);
+        clPub.set(kCaptureLatencyMs);
+
+        boolean hasTags = frame[7] > 0;
+        botpose[0] = hasTags ? frame[4] : 0.0;
+        botpose[1] = hasTags ? frame[5] : 0.0;
+        botpose[5] = hasTags ? frame[6] : 0.0;
+        botpose[6] = totalLatencyMs;
+        botpose[7] = frame[7];
+        botpose[9] = frame[8];
+        botposePub.set(botpose);
+    }
+
+    private void capture(double timestamp, Pose2d robotPose, double turretAngleDegrees) {
+        Transform2d robotToCamera = TurretCameraMount.robotToCamera(turretAngleDegrees);
+        Pose2d cameraPose = robotPose.transformBy(robotToCamera);
+        double cameraHeading = cameraPose.getRotation().getRadians();
+        double bestDistance = kMaxRangeMeters;
+        double bestTx = 0.0;
+        int bestId = -1;
+        int visibleTags = 0;
+        double totalDistance = 0.0;
+
+        for (int i = 0; i < tagIds.length; i++) {
+            double dx = tagX[i] - cameraPose.getX();
+            double dy = tagY[i] - cameraPose.getY();
+            double distance = Math.hypot(dx, dy);
+            if (distance >= kMaxRangeMeters) {
+                continue;
+            }
+            // El tag tiene que mirar hacia la cámara
+            if (dx * Math.cos(tagFacing[i]) + dy * Math.sin(tagFacing[i]) >= 0) {
+                continue;
+            }
+            double bearing = Math.atan2(dy, dx) - cameraHeading;
+            bearing = Math.atan2(Math.sin(bearing), Math.cos(bearing));
+            double tx = -Math.toDegrees(bearing);   // tx positivo = tag a la derecha
+            if (Math.abs(tx) > kHorizontalFovDegrees / 2) {
+                continue;
+            }
+            visibleTags++;
+            totalDistance += distance;
+            if (distance >= bestDistance) {
+                continue;
+            }
+            bestDistance = distance;
+            bestTx = tx;
+            bestId = tagIds[i];
+        }
+
+        double[] frame = frames[frameHead];
+        frame[0] = timestamp;
+        frame[1] = bestId >= 0 ? 1 : 0;
+        frame[2] = bestTx;
+        frame[3] = bestId;
+        frame[4] = cameraPose.getX();
+        frame[5] = cameraPose.getY();
+        frame[6] = cameraPose.getRotation().getDegrees();
+        frame[7] = visibleTags;
+        frame[8] = visibleTags > 0 ? totalDistance / visibleTags : 0.0;
+        frameHead = (frameHead + 1) % frames.length;
+        frameCount++;
+    }
+}
@@ -0,0 +1,43 @@
+package frc.robot.sim;
+
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.smartdashboard.Field2d;
+import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import frc.robot.subsystems.io.ClimberIOSim;
+import frc.robot.subsystems.io.DrivetrainIOSim;
+import frc.robot.subsystems.io.GyroIOSim;
+import frc.robot.subsystems.io.IntakeIOSim;
+import frc.robot.subsystems.io.TurretIOSim;
+
+/**
+ * Robot completo en simulación: los modelos físicos de cada subsistema conectados
+ * entre sí (el gyro sigue al drivetrain, la Limelight usa la pose y la torreta).
+ *
+ * <p>Los modelos avanzan en updateInputs() de cada IO; {@link #update()} corre en
+ * simulationPeriodic, después de la lógica, y publica lo que ve la cámara.
+ */
+public class RobotSimulation {
+
+    // Centro de la cancha mirando hacia la alianza roja
+    private static final Pose2d kStartPose = new Pose2d(8.27, 4.03, Rotation2d.kZero);
+
+    public final DrivetrainIOSim drivetrain = new DrivetrainIOSim(kStartPose);
+    public final TurretIOSim turret = new TurretIOSim();
+    public final IntakeIOSim intake = new IntakeIOSim();
+    public final GyroIOSim gyro = new GyroIOSim(drivetrain::getHeadingDegrees, drivetrain::getYawRateDegreesPerSecond);
+    public final ClimberIOSim climber = new ClimberIOSim();
+
+    private final LimelightSim limelight = new LimelightSim("limelight");
+    private final Field2d field = new Field2d();
+
+    public RobotSimulation() {
+        SmartDashboard.putData("Sim Field", field);
+    }
+
+    public void update() {
+        Pose2d pose = drivetrain.getPose();
+        limelight.update(pose, turret.getTurretAngleDegrees());
+        field.setRobotPose(pose);
+    }
+}
@@ -0,0 +1,87 @@
+package frc.robot.subsystems;
+
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.timing.LoopProfiler;
+
+/**
+ * Subsistema cuyo periodic() se mide contra un presupuesto de tiempo.
+ *
+ * <p>Las subclases implementan {@link #budgetedPeriodic()} en lugar de periodic().
+ * {@link #registerBudgetTelemetry} publica en "Budget/&lt;nombre&gt;" el último tiempo, el
+ * máximo y cuántas veces se pasó del presupuesto, para poder optimizar cada subsistema
+ * por separado. Va por {@link Telemetry}, así no se manda a NetworkTables en cada loop.
+ * La misma medición va a {@link LoopProfiler} como la fase "Periodic/&lt;nombre&gt;".
+ */
+public abstract class BudgetedSubsystem extends SubsystemBase {
+
+    private final long budgetMicros;
+    private long lastMicros = 0;
+    private long maxMicros = 0;
+    private long overruns = 0;
+
+    private final int profilerPhase;
+
+    /**
+     * @param budgetMicros Tiempo máximo esperado de periodic() en microsegundos
+     */
+    protected BudgetedSubsystem(long budgetMicros) {
+        this.budgetMicros = budgetMicros;
+        profilerPhase = LoopProfiler.getInstance().registerPhase("Periodic/" + getName());
+    }
+
+    /**
+     * Trabajo periódico del subsistema. Se ejecuta una vez por loop del scheduler.
+     */
+    protected void budgetedPeriodic() {
+    }
+
+    @Override
+    public final void periodic() {
+        long start = RobotController.getFPGATime();
+        budgetedPeriodic();
+        lastMicros = RobotController.getFPGATime() - start;
+        LoopProfiler.getInstance().record(profilerPhase, lastMicros);
+
+        if (lastMicros > maxMicros) {
+            maxMicros = lastMicros;
+        }
+        if (lastMicros > budgetMicros) {
+            overruns++;
+        }
+    }
+
+    /**
+     * Registra el presupuesto y las mediciones de periodic() en la telemetría.
+     */
+    public void registerBudgetTelemetry(Telemetry telemetry) {
+        String prefix = "Budget/" + getName() + "/";
+        telemetry.addDouble(prefix + "Budget (us)", () -> budgetMicros, Telemetry.kSlow);
+        telemetry.addDouble(prefix + "Last (us)", () -> lastMicros, Telemetry.kSlow, 20.0);
+        telemetry.addDouble(prefix + "Max (us)", () -> maxMicros, Telemetry.kSlow);
+        telemetry.addDouble(prefix + "Overruns", () -> overruns, Telemetry.kSlow);
+    }
+
+    /**
+     * @return Duración del último periodic() en microsegundos
+     */
+    public long getLastPeriodicMicros() {
+        return lastMicros;
+    }
+
+    public long getMaxPeriodicMicros() {
+        return maxMicros;
+    }
+
+    public long getBudgetMicros() {
+        return budgetMicros;
+    }
+
+    /**
+     * Reinicia el máximo registrado (por ejemplo al empezar un match).
+     */
+    public void resetBudgetStats() {
+        maxMicros = 0;
+        overruns = 0;
+    }
+}
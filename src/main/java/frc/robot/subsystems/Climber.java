@@ -1,23 +1,44 @@
 package frc.robot.subsystems;
 
-import com.revrobotics.spark.SparkLowLevel.MotorType;
-import com.revrobotics.spark.SparkMax;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.subsystems.io.ClimberIO;
 
-public class Climber extends SubsystemBase{
-    public SparkMax motor1;
+public class Climber extends BudgetedSubsystem {
+    private final ClimberIO io;
+    private final ClimberIO.Inputs inputs = new ClimberIO.Inputs();
+    private double output = 0.0;
 
-    public Climber() {
-    motor1 = new SparkMax(10, MotorType.kBrushed);
+    public Climber(ClimberIO io) {
+        super(200);
+        this.io = io;
+    }
+
+    /**
+     * Lee el hardware. Se llama una vez por loop antes del scheduler.
+     */
+    public void updateInputs() {
+        io.updateInputs(inputs);
     }
 
     public void climb(double speed){
-        motor1.set(-1);
+        set(-1);
     }
     public void lower(double speed){
-        motor1.set(1);
+        set(1);
     }
     public void stop(double speed){
-        motor1.set(0);
+        set(0);
+    }
+
+    private void set(double value) {
+        output = value;
+        io.setDutyCycle(value);
+    }
+
+    public double getOutput() {
+        return output;
+    }
+
+    public ClimberIO.Inputs getInputs() {
+        return inputs;
     }
 }
@@ -1,68 +1,308 @@
 package frc.robot.subsystems;
 
-import com.revrobotics.spark.SparkLowLevel.MotorType;
-import com.revrobotics.spark.SparkMax;
-import com.revrobotics.spark.SparkBase.PersistMode;
-import com.revrobotics.spark.config.SparkMaxConfig;
-import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
+import static edu.wpi.first.units.Units.Meters;
+import static edu.wpi.first.units.Units.MetersPerSecond;
+import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Seconds;
+import static edu.wpi.first.units.Units.Volts;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.math.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.math.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.units.measure.MutDistance;
+import edu.wpi.first.units.measure.MutLinearVelocity;
+import edu.wpi.first.units.measure.MutVoltage;
+import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.wpilibj.Timer;
 import edu.wpi.first.wpilibj.drive.DifferentialDrive;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj.sysid.SysIdRoutineLog;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
+import frc.robot.subsystems.io.DrivetrainIO;
+import frc.robot.util.FeedforwardGains;
+
+public class Drivetrain extends BudgetedSubsystem {
+
+        /**
+         * OPEN_LOOP: el arcade manda duty cycle directo, como un DifferentialDrive.
+         * VELOCITY: el arcade pide velocidades de rueda (cinemática) y cada lado las sigue
+         * con feedforward y un P sobre el encoder.
+         */
+        public enum DriveMode {
+                OPEN_LOOP,
+                VELOCITY
+        }
 
-public class Drivetrain extends SubsystemBase {
+        // ==================== GEOMETRÍA ====================
+        public static final double kTrackWidthMeters = 0.66;   // 26", igual que el modelo del kitbot
+        public static final DifferentialDriveKinematics kKinematics = new DifferentialDriveKinematics(kTrackWidthMeters);
 
-        public SparkMax leftMotorLeader;
-        public SparkMax leftMotorFollower;
-        public SparkMax rightMotorLeader;
-        public SparkMax rightMotorFollower;
+        // ==================== VELOCIDAD DE RUEDAS ====================
+        // Gains por lado en volts (kS, por m/s, por m/s², por m/s de error) cuando no hay
+        // deploy/characterization/drivetrain.json. Coinciden con el modelo del kitbot.
+        private static final FeedforwardGains kDefaultGains = new FeedforwardGains(0.2, 2.4, 0.3, 1.0);
+        private static final double kLoopPeriod = 0.02;
+        /** Velocidad y aceleración por defecto de las trayectorias */
+        public static final double kMaxSpeedMetersPerSecond = 3.0;
+        public static final double kMaxAccelerationMetersPerSecondSq = 2.0;
 
-        public DifferentialDrive differentialDrive;
+        // ==================== ARCADE ====================
+        private static final double kDeadband = 0.05;
+        // La rotación se puede corregir entre loops solo si el último arcade es de este loop
+        private static final double kMaxRotationRefreshAge = 0.025;
 
-        public Drivetrain() {
+        // ==================== CARACTERIZACIÓN ====================
+        // Cortas para que entren en la cancha; deshabilitar antes si se acaba el espacio
+        private static final double kSysIdRampVoltsPerSecond = 1.0;
+        private static final double kSysIdStepVolts = 4.0;
+        private static final double kSysIdTimeoutSeconds = 3.0;
 
-                leftMotorLeader = new SparkMax(1, MotorType.kBrushed);
-                leftMotorFollower = new SparkMax(2, MotorType.kBrushed);
-                rightMotorLeader = new SparkMax(3, MotorType.kBrushed);
-                rightMotorFollower = new SparkMax(4, MotorType.kBrushed);
+        private final DrivetrainIO io;
+        private final DrivetrainIO.Inputs inputs = new DrivetrainIO.Inputs();
 
-                SparkMaxConfig baseConfig = new SparkMaxConfig();
-                SparkMaxConfig leftMotorFollowerConfig = new SparkMaxConfig();
-                SparkMaxConfig rightMotorLeaderConfig = new SparkMaxConfig();
-                SparkMaxConfig rightMotorFollowerConfig = new SparkMaxConfig();
+        private final DifferentialDrive differentialDrive;
+        private final FeedforwardGains gains;
+        private final SimpleMotorFeedforward feedforward;
+        /** Velocidad de rueda con el stick a fondo: la que se alcanza con la tensión nominal */
+        private final double maxWheelSpeed;
+        private final double maxAngularSpeed;
+        // VELOCITY queda para cuando se verifiquen los encoders en el robot
+        private DriveMode driveMode = DriveMode.OPEN_LOOP;
+        private double leftOutput = 0.0;
+        private double rightOutput = 0.0;
+        private double arcadeLeft = 0.0;
+        private double arcadeRight = 0.0;
+        private double lastArcadeSpeed = 0.0;
+        private boolean lastArcadeSquared = true;
+        private double lastArcadeTime = Double.NaN;
 
-                baseConfig
-                    .idleMode(IdleMode.kBrake)
-                    .closedLoopRampRate(0.1);
+        private final SysIdRoutine sysIdRoutine;
+        private final MutVoltage sysIdVoltage = Volts.mutable(0);
+        private final MutDistance sysIdPosition = Meters.mutable(0);
+        private final MutLinearVelocity sysIdVelocity = MetersPerSecond.mutable(0);
 
-                leftMotorFollowerConfig
-                                .apply(baseConfig)
-                                .follow(leftMotorLeader);
+        public Drivetrain(DrivetrainIO io) {
+                super(500);
+                this.io = io;
 
-                rightMotorLeaderConfig
-                                .apply(baseConfig)
-                                .inverted(true);
+                // Sin arcadeDrive: solo se usa por el watchdog, que para los motores si nadie maneja
+                differentialDrive = new DifferentialDrive(this::setLeft, this::setRight);
 
-                rightMotorFollowerConfig
-                                .apply(baseConfig)
-                                .follow(rightMotorLeader);
+                gains = FeedforwardGains.load("drivetrain", kDefaultGains);
+                feedforward = gains.toFeedforward(kLoopPeriod);
+                maxWheelSpeed = (FeedforwardGains.kNominalVoltage - gains.kS) / gains.kV;
+                // Girando en el lugar a fondo, cada rueda va a maxWheelSpeed: igual que el arcade
+                maxAngularSpeed = 2.0 * maxWheelSpeed / kTrackWidthMeters;
 
-                leftMotorLeader.configure(baseConfig, 
-                                com.revrobotics.spark.SparkBase.ResetMode.kResetSafeParameters,
-                                PersistMode.kNoPersistParameters);
-                leftMotorFollower.configure(leftMotorFollowerConfig,
-                                com.revrobotics.spark.SparkBase.ResetMode.kResetSafeParameters,
-                                PersistMode.kNoPersistParameters);
-                rightMotorLeader.configure(rightMotorLeaderConfig,
-                                com.revrobotics.spark.SparkBase.ResetMode.kResetSafeParameters,
-                                PersistMode.kNoPersistParameters);
-                rightMotorFollower.configure(rightMotorFollowerConfig,
-                                com.revrobotics.spark.SparkBase.ResetMode.kResetSafeParameters,
-                                PersistMode.kNoPersistParameters);
+                sysIdRoutine = new SysIdRoutine(
+                                new SysIdRoutine.Config(
+                                                Volts.per(Second).of(kSysIdRampVoltsPerSecond),
+                                                Volts.of(kSysIdStepVolts),
+                                                Seconds.of(kSysIdTimeoutSeconds)),
+                                new SysIdRoutine.Mechanism(this::driveVoltage, this::logCharacterization, this));
+        }
+
+        /**
+         * Lee el hardware. Se llama una vez por loop antes del scheduler.
+         */
+        public void updateInputs() {
+                io.updateInputs(inputs);
+        }
 
-                differentialDrive = new DifferentialDrive(leftMotorLeader, rightMotorLeader);
-                differentialDrive.setDeadband(0.05);
+        public DriveMode getDriveMode() {
+                return driveMode;
+        }
+
+        /**
+         * VELOCITY depende de los encoders: con uno muerto (lee 0) el P suma salida en vez
+         * de frenar, y con uno invertido la realimentación es positiva. Usar OPEN_LOOP
+         * hasta verificar los dos lados.
+         */
+        public void setDriveMode(DriveMode mode) {
+                driveMode = mode;
+        }
+
+        /**
+         * Registra el modo de manejo en la telemetría.
+         */
+        public void registerTelemetry(Telemetry telemetry) {
+                telemetry.addBoolean("Drive Velocity Mode", () -> driveMode == DriveMode.VELOCITY, Telemetry.kSlow);
         }
 
         public void drive(double speed, double rotation) {
-                differentialDrive.arcadeDrive(speed, rotation);
+                drive(speed, rotation, true);
+        }
+
+        /**
+         * @param squareInputs false cuando la rotación ya es la salida final de un
+         *                     controlador (por ejemplo el auto-turn del gyro)
+         */
+        public void drive(double speed, double rotation, boolean squareInputs) {
+                lastArcadeSpeed = speed;
+                lastArcadeSquared = squareInputs;
+                lastArcadeTime = Timer.getFPGATimestamp();
+                computeArcade(speed, rotation, squareInputs);
+                setLeft(arcadeLeft);
+                setRight(arcadeRight);
+                differentialDrive.feed();
+        }
+
+        /**
+         * Vuelve a mandar el último arcade con otra rotación. Lo usa el grupo de control
+         * rápido entre loops: los duty cycles del loop (getLeftOutput/getRightOutput) no
+         * cambian, los nuevos quedan en getRefreshedLeftOutput/getRefreshedRightOutput.
+         * @return false si este loop no manejó en arcade (no se mandó nada)
+         */
+        public boolean refreshRotation(double rotation) {
+                if (Double.isNaN(lastArcadeTime)
+                                || Timer.getFPGATimestamp() - lastArcadeTime > kMaxRotationRefreshAge) {
+                        return false;
+                }
+                computeArcade(lastArcadeSpeed, rotation, lastArcadeSquared);
+                io.setDutyCycle(arcadeLeft, arcadeRight);
+                return true;
+        }
+
+        /**
+         * Calcula la salida del arcade en el modo actual y la deja en arcadeLeft/arcadeRight.
+         * En VELOCITY el stick a fondo pide la tensión nominal en régimen, así que se maneja
+         * igual que en OPEN_LOOP pero la respuesta no depende de la batería ni de la carga.
+         */
+        private void computeArcade(double speed, double rotation, boolean squareInputs) {
+                speed = MathUtil.applyDeadband(speed, kDeadband);
+                rotation = MathUtil.applyDeadband(rotation, kDeadband);
+                if (driveMode == DriveMode.OPEN_LOOP) {
+                        DifferentialDrive.WheelSpeeds speeds = DifferentialDrive.arcadeDriveIK(speed, rotation, squareInputs);
+                        arcadeLeft = speeds.left;
+                        arcadeRight = speeds.right;
+                        return;
+                }
+
+                if (squareInputs) {
+                        speed = Math.copySign(speed * speed, speed);
+                        rotation = Math.copySign(rotation * rotation, rotation);
+                }
+                DifferentialDriveWheelSpeeds wheels = kKinematics.toWheelSpeeds(
+                                new ChassisSpeeds(speed * maxWheelSpeed, 0.0, rotation * maxAngularSpeed));
+                // Avance y giro a fondo a la vez: se escalan los dos lados, como arcadeDriveIK
+                wheels.desaturate(maxWheelSpeed);
+                arcadeLeft = toDutyCycle(wheelVolts(wheels.leftMetersPerSecond, 0.0,
+                                inputs.leftVelocityMetersPerSecond));
+                arcadeRight = toDutyCycle(wheelVolts(wheels.rightMetersPerSecond, 0.0,
+                                inputs.rightVelocityMetersPerSecond));
+        }
+
+        /**
+         * Sigue una velocidad por lado con feedforward y un P sobre la velocidad del encoder.
+         * Lo usan los comandos que siguen trayectorias.
+         * @param accelerationMetersPerSecondSq Aceleración del chasis que pide la trayectoria
+         */
+        public void driveWheelSpeeds(double leftMetersPerSecond, double rightMetersPerSecond,
+                        double accelerationMetersPerSecondSq) {
+                double left = wheelVolts(leftMetersPerSecond, accelerationMetersPerSecondSq,
+                                inputs.leftVelocityMetersPerSecond);
+                double right = wheelVolts(rightMetersPerSecond, accelerationMetersPerSecondSq,
+                                inputs.rightVelocityMetersPerSecond);
+                lastArcadeTime = Double.NaN;
+                setLeft(toDutyCycle(left));
+                setRight(toDutyCycle(right));
+                // No pasa por arcadeDrive: el watchdog de DifferentialDrive se alimenta a mano
+                differentialDrive.feed();
+        }
+
+        private double wheelVolts(double velocity, double acceleration, double measuredVelocity) {
+                return feedforward.calculateWithVelocities(velocity, velocity + acceleration * kLoopPeriod)
+                                + gains.kP * (velocity - measuredVelocity);
+        }
+
+        /**
+         * Los SPARK MAX compensan el voltaje: duty cycle 1 es siempre la tensión nominal.
+         */
+        private static double toDutyCycle(double volts) {
+                return MathUtil.clamp(volts / FeedforwardGains.kNominalVoltage, -1.0, 1.0);
+        }
+
+        // ==================== CARACTERIZACIÓN ====================
+
+        /**
+         * Rutinas de SysId: cada lado registra tensión, posición y velocidad en el WPILOG
+         * ("drive-left" y "drive-right"). El resultado va a deploy/characterization/drivetrain.json.
+         */
+        public Command sysIdQuasistatic(SysIdRoutine.Direction direction) {
+                return sysIdRoutine.quasistatic(direction).withName("SysId Drive Quasistatic " + direction);
+        }
+
+        public Command sysIdDynamic(SysIdRoutine.Direction direction) {
+                return sysIdRoutine.dynamic(direction).withName("SysId Drive Dynamic " + direction);
+        }
+
+        private void driveVoltage(Voltage voltage) {
+                double output = toDutyCycle(voltage.in(Volts));
+                lastArcadeTime = Double.NaN;
+                setLeft(output);
+                setRight(output);
+                differentialDrive.feed();
+        }
+
+        private void logCharacterization(SysIdRoutineLog log) {
+                log.motor("drive-left")
+                                .voltage(sysIdVoltage.mut_replace(leftOutput * FeedforwardGains.kNominalVoltage, Volts))
+                                .linearPosition(sysIdPosition.mut_replace(inputs.leftPositionMeters, Meters))
+                                .linearVelocity(sysIdVelocity.mut_replace(inputs.leftVelocityMetersPerSecond, MetersPerSecond));
+                log.motor("drive-right")
+                                .voltage(sysIdVoltage.mut_replace(rightOutput * FeedforwardGains.kNominalVoltage, Volts))
+                                .linearPosition(sysIdPosition.mut_replace(inputs.rightPositionMeters, Meters))
+                                .linearVelocity(sysIdVelocity.mut_replace(inputs.rightVelocityMetersPerSecond, MetersPerSecond));
+        }
+
+        // DifferentialDrive manda primero el lado izquierdo y después el derecho
+        private void setLeft(double output) {
+                leftOutput = output;
+        }
+
+        private void setRight(double output) {
+                rightOutput = output;
+                io.setDutyCycle(leftOutput, rightOutput);
+        }
+
+        /**
+         * @return Último duty cycle mandado al lado izquierdo (fracción de la tensión nominal)
+         */
+        public double getLeftOutput() {
+                return leftOutput;
+        }
+
+        /**
+         * @return Último duty cycle mandado al lado derecho (fracción de la tensión nominal)
+         */
+        public double getRightOutput() {
+                return rightOutput;
+        }
+
+        /**
+         * @return Duty cycle izquierdo del último {@link #refreshRotation}
+         */
+        public double getRefreshedLeftOutput() {
+                return arcadeLeft;
+        }
+
+        /**
+         * @return Duty cycle derecho del último {@link #refreshRotation}
+         */
+        public double getRefreshedRightOutput() {
+                return arcadeRight;
+        }
+
+        /**
+         * @return Velocidad hacia adelante del chasis (promedio de los dos lados) en m/s
+         */
+        public double getSpeedMetersPerSecond() {
+                return (inputs.leftVelocityMetersPerSecond + inputs.rightVelocityMetersPerSecond) / 2.0;
+        }
+
+        public DrivetrainIO.Inputs getInputs() {
+                return inputs;
         }
-}
\ No newline at end of file
+}
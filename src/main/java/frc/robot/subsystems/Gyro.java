@@ -1,167 +1,225 @@
 package frc.robot.subsystems;
 
-import com.ctre.phoenix6.hardware.Pigeon2;
+import java.util.ArrayList;
+import java.util.function.DoubleConsumer;
+
+import edu.wpi.first.util.datalog.BooleanLogEntry;
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.subsystems.io.GyroIO;
+import frc.robot.util.HeadingProfile;
+import frc.robot.util.TimestampedBuffer;
 
-public class Gyro extends SubsystemBase {
+public class Gyro extends BudgetedSubsystem {
     
     // ==================== HARDWARE ====================
-    private final Pigeon2 pigeon;
+    private final GyroIO io;
+    private final GyroIO.Inputs inputs = new GyroIO.Inputs();
+    // Muestras de yaw del último segundo (250 Hz en el robot real) para consultar en el pasado
+    private final TimestampedBuffer yawHistory = new TimestampedBuffer(250);
+    // Muestra más nueva para el grupo de control rápido; no la lee ni la registra el loop
+    private final GyroIO.Inputs latest = new GyroIO.Inputs();
     
     // ==================== CONSTANTES AUTO-TURN ====================
-    private static final double kTurnSpeed = 0.5;
-    private static final double kTurnSlowSpeed = 0.2;
-    private static final double kSlowdownAngle = 25.0;
+    // Perfil trapezoidal del heading
+    private static final double kMaxTurnVelocity = 360.0;      // grados/s
+    private static final double kMaxTurnAcceleration = 720.0;  // grados/s²
+    // Feedforward del giro en el lugar (duty cycle por grado/s y grado/s²), a caracterizar con SysId
+    private static final double kTurnS = 0.08;
+    private static final double kTurnV = 0.0015;
+    private static final double kTurnA = 0.0002;
+    // Feedback sobre el error de posición y de velocidad respecto del perfil
+    private static final double kTurnP = 0.02;
+    private static final double kTurnD = 0.001;
+    private static final double kMaxTurnOutput = 0.8;
+    // Asentado: dentro de la tolerancia y casi quieto durante kSettleTime seguidos
     private static final double kYawTolerance = 2.0;
-    private static final double kStopTolerance = 6.0;
-    private static final double kSettleTime = 0.15;
-    private static final double kMaxOscillations = 3;
-    private static final double kMaxOscillationTime = 2.0;
+    private static final double kYawRateTolerance = 10.0;
+    private static final double kSettleTime = 0.1;
+    // Si el perfil terminó hace más que esto y no se asentó, se cancela
+    private static final double kSettleTimeout = 1.0;
+    private static final double kNominalDt = 0.02;
+    private static final double kMaxDt = 0.1;
     
     // ==================== ESTADO ====================
     private boolean autoTurnActive = false;
-    private double targetYaw = 0.0;
+    // Heading objetivo y setpoint en el mismo yaw continuo del Pigeon (sin normalizar)
+    private final HeadingProfile profile = new HeadingProfile(kMaxTurnVelocity, kMaxTurnAcceleration);
+    private double profileEndTime = 0.0;
+    private double autoTurnStartTime = 0.0;
+    private double lastAutoTurnTime = Double.NaN;
     private double settleTimer = 0.0;
-    private double oscillationTimer = 0.0;
-    private double lastErrorSign = 0.0;
-    private int oscillationCount = 0;
-    private double lastError = 0.0;
-    
-    public Gyro() {
-        pigeon = new Pigeon2(0);
-        pigeon.setYaw(0);
+    private double lastAutoTurnDuration = 0.0;
+    private double lastAutoTurnCommand = 0.0;
+    private boolean hasLatest = false;
+    private double lastYawResetTime = Double.NEGATIVE_INFINITY;
+    
+    // ==================== LOG ====================
+    // Los eventos del auto-turn van al WPILOG en vez de reportWarning con String.format
+    private final DoubleLogEntry targetLog;
+    private final DoubleLogEntry durationLog;
+    private final DoubleLogEntry finalErrorLog;
+    private final BooleanLogEntry cancelledLog;
+    
+    private final ArrayList<DoubleConsumer> yawResetListeners = new ArrayList<>();
+    
+    public Gyro(GyroIO io) {
+        super(500);
+        this.io = io;
+        DataLog log = DataLogManager.getLog();
+        targetLog = new DoubleLogEntry(log, "/Gyro/AutoTurn/Target");
+        durationLog = new DoubleLogEntry(log, "/Gyro/AutoTurn/Duration");
+        finalErrorLog = new DoubleLogEntry(log, "/Gyro/AutoTurn/FinalError");
+        cancelledLog = new BooleanLogEntry(log, "/Gyro/AutoTurn/Cancelled");
+        
         DriverStation.reportWarning("Gyro inicializado correctamente", false);
     }
     
+    /**
+     * Lee el hardware. Se llama una vez por loop antes del scheduler.
+     */
+    public void updateInputs() {
+        io.updateInputs(inputs);
+        hasLatest = false;
+        for (int i = 0; i < inputs.odometrySamples; i++) {
+            yawHistory.add(inputs.odometryTimestamps[i], inputs.odometryYawDegrees[i]);
+        }
+    }
+    
     /**
      * Inicia un giro automático relativo desde la posición actual
      * Solo se activa si NO hay un auto-turn en progreso
-     * @param degrees Grados a girar (+ derecha, - izquierda)
+     * @param degrees Grados a girar (+ antihorario), por el camino más corto
      */
     public void rotate(double degrees) {
         if (autoTurnActive) {
             return;
         }
-        
-        autoTurnActive = true;
-        targetYaw = getYaw() + degrees;
-        settleTimer = 0.0;
-        oscillationCount = 0;
-        oscillationTimer = 0.0;
-        lastErrorSign = 0.0;
-        lastError = 999;
-        
-        DriverStation.reportWarning(
-            String.format("Auto-turn iniciado | Actual: %.2f° | Target: %.2f° | Girando: %.2f°", 
-                getYaw(), targetYaw, degrees), 
-            false
-        );
+        startAutoTurn(getYaw() + normalize(degrees));
     }
     
     /**
-     * Gira a un ángulo absoluto específico
+     * Gira a un ángulo absoluto específico, por el camino más corto
      * @param absoluteYaw Ángulo objetivo absoluto
      */
     public void rotateTo(double absoluteYaw) {
         if (autoTurnActive) {
             return;
         }
-        
+        startAutoTurn(getYaw() + normalize(absoluteYaw - getYaw()));
+    }
+    
+    private void startAutoTurn(double goalYaw) {
         autoTurnActive = true;
-        targetYaw = absoluteYaw;
+        profile.reset(getYaw(), getYawRate(), goalYaw);
+        autoTurnStartTime = Timer.getFPGATimestamp();
+        lastAutoTurnTime = Double.NaN;
+        profileEndTime = Double.NaN;
         settleTimer = 0.0;
-        oscillationCount = 0;
-        oscillationTimer = 0.0;
-        lastErrorSign = 0.0;
-        lastError = 999;
         
-        DriverStation.reportWarning(
-            String.format("Auto-turn a ángulo absoluto | Target: %.2f°", absoluteYaw), 
-            false
-        );
+        targetLog.append(goalYaw);
     }
     
     /**
-     * Calcula el comando de giro para auto-turn
-     * @return Comando de giro (-1.0 a 1.0), o 0 si auto-turn no está activo
+     * Calcula el comando de giro para auto-turn: sigue un perfil trapezoidal del heading
+     * con feedforward (kS, kV, kA) y feedback de posición y velocidad angular.
+     * Usar con {@link Drivetrain#drive(double, double, boolean)} sin elevar al cuadrado.
+     * @return Comando de giro (-1.0 a 1.0, + antihorario), o 0 si auto-turn no está activo
      */
     public double getAutoTurnCommand() {
         if (!autoTurnActive) {
             return 0.0;
         }
         
-        double yaw = getYaw();
-        double error = targetYaw - yaw;
-        
-        // Normalizar error (-180 a 180)
-        while (error > 180) error -= 360;
-        while (error < -180) error += 360;
+        double now = Timer.getFPGATimestamp();
+        double dt = Double.isNaN(lastAutoTurnTime) ? kNominalDt : MathUtil.clamp(now - lastAutoTurnTime, 0.0, kMaxDt);
+        lastAutoTurnTime = now;
         
-        double absError = Math.abs(error);
-        double turn = 0.0;
-        
-        // Detectar oscilación por cambio de signo
-        if (lastErrorSign != 0 && Math.signum(error) != lastErrorSign) {
-            oscillationCount++;
-            DriverStation.reportWarning(
-                String.format("Oscilación #%d | Error: %.2f°", oscillationCount, error),
-                false
-            );
+        double acceleration = profile.step(dt);
+        if (profile.isFinished() && Double.isNaN(profileEndTime)) {
+            profileEndTime = now;
         }
-        lastErrorSign = Math.signum(error);
         
-        // Detectar oscilación por falta de progreso
-        if (Math.abs(lastError - absError) < 0.5) {
-            oscillationTimer += 0.02;
-        } else {
-            oscillationTimer = 0.0;
-        }
-        lastError = absError;
-        
-        // Cancelar si oscilamos demasiado O si llevamos mucho tiempo sin progresar
-        if (oscillationCount >= kMaxOscillations || oscillationTimer >= kMaxOscillationTime) {
-            autoTurnActive = false;
-            DriverStation.reportWarning(
-                String.format("⚠️ Auto-turn CANCELADO | Oscilaciones: %d | Tiempo estancado: %.2fs | Error: %.2f°", 
-                    oscillationCount, oscillationTimer, error),
-                false
-            );
-            return 0.0;
-        }
+        double yaw = getYaw();
+        double yawRate = getYawRate();
+        double error = profile.getGoal() - yaw;
         
-        // Zona de parada completa
-        if (absError < kStopTolerance) {
-            turn = 0.0;
-            
-            if (absError < kYawTolerance) {
-                settleTimer += 0.02;
-                
+        // Asentado cuando el perfil terminó y el robot se queda en la tolerancia kSettleTime seguidos
+        if (!Double.isNaN(profileEndTime)) {
+            if (Math.abs(error) < kYawTolerance && Math.abs(yawRate) < kYawRateTolerance) {
+                settleTimer += dt;
                 if (settleTimer >= kSettleTime) {
-                    autoTurnActive = false;
-                    DriverStation.reportWarning(
-                        String.format("✓ Auto-turn completado | Error: %.2f°", error), 
-                        false
-                    );
+                    finishAutoTurn(now, error, false);
+                    return 0.0;
                 }
             } else {
                 settleTimer = 0.0;
             }
-        }
-        // Fase de frenado gradual
-        else if (absError <= kSlowdownAngle) {
-            double speedFactor = absError / kSlowdownAngle;
-            turn = Math.copySign(kTurnSlowSpeed + (kTurnSpeed - kTurnSlowSpeed) * speedFactor, error);
-            settleTimer = 0.0;
-        }
-        // Fase de velocidad máxima
-        else {
-            turn = Math.copySign(kTurnSpeed, error);
-            settleTimer = 0.0;
+            if (now - profileEndTime > kSettleTimeout) {
+                finishAutoTurn(now, error, true);
+                return 0.0;
+            }
         }
         
-        return turn;
+        double setpointYawRate = profile.getSetpointRate();
+        double turn = kTurnS * Math.signum(setpointYawRate)
+            + kTurnV * setpointYawRate
+            + kTurnA * acceleration
+            + kTurnP * (profile.getSetpoint() - yaw)
+            + kTurnD * (setpointYawRate - yawRate);
+        lastAutoTurnCommand = MathUtil.clamp(turn, -kMaxTurnOutput, kMaxTurnOutput);
+        return lastAutoTurnCommand;
+    }
+    
+    // ==================== CONTROL RÁPIDO ====================
+    
+    /**
+     * Lee el yaw más nuevo para el grupo de control rápido, entre loops. Las entradas
+     * del loop no cambian: lo que lee y registra el loop principal queda igual.
+     */
+    public void updateLatest() {
+        hasLatest = io.updateLatest(latest)
+            && latest.timestampSeconds > inputs.timestampSeconds
+            && latest.timestampSeconds > lastYawResetTime;
+    }
+    
+    /**
+     * @return Grados que giró el chasis desde la muestra del loop, 0 si no hay una más nueva
+     */
+    public double getYawChangeSinceLoop() {
+        return hasLatest ? latest.yawDegrees - inputs.yawDegrees : 0.0;
+    }
+    
+    /**
+     * Comando del auto-turn corregido con el yaw más nuevo: al comando del loop se le suma
+     * el feedback sobre lo que avanzó el setpoint (a velocidad constante) y lo que giró el
+     * robot desde entonces. El perfil no avanza; eso lo sigue haciendo el loop.
+     * @return Comando de giro, o NaN si no hay nada que corregir
+     */
+    public double getFastAutoTurnCommand() {
+        if (!autoTurnActive || !hasLatest || Double.isNaN(lastAutoTurnTime)) {
+            return Double.NaN;
+        }
+        double elapsed = latest.timestampSeconds - inputs.timestampSeconds;
+        double correction = kTurnP * (profile.getSetpointRate() * elapsed - getYawChangeSinceLoop())
+            - kTurnD * (latest.yawRateDegreesPerSecond - inputs.yawRateDegreesPerSecond);
+        return MathUtil.clamp(lastAutoTurnCommand + correction, -kMaxTurnOutput, kMaxTurnOutput);
+    }
+    
+    private void finishAutoTurn(double now, double error, boolean cancelled) {
+        autoTurnActive = false;
+        lastAutoTurnDuration = now - autoTurnStartTime;
+        durationLog.append(lastAutoTurnDuration);
+        finalErrorLog.append(error);
+        cancelledLog.append(cancelled);
+    }
+    
+    private static double normalize(double degrees) {
+        return MathUtil.inputModulus(degrees, -180.0, 180.0);
     }
     
     /**
@@ -170,8 +228,6 @@ public class Gyro extends SubsystemBase {
     public void cancelAutoTurn() {
         autoTurnActive = false;
         settleTimer = 0.0;
-        oscillationCount = 0;
-        oscillationTimer = 0.0;
         DriverStation.reportWarning("Auto-turn cancelado manualmente", false);
     }
     
@@ -194,52 +250,111 @@ public class Gyro extends SubsystemBase {
      * @return Ángulo yaw actual en grados
      */
     public double getYaw() {
-        return pigeon.getYaw().getValueAsDouble();
+        return inputs.yawDegrees;
+    }
+    
+    /**
+     * @param timestampSeconds Tiempo FPGA del último segundo
+     * @return Yaw interpolado en ese instante, o el yaw actual si no hay muestras
+     */
+    public double getYawAt(double timestampSeconds) {
+        if (yawHistory.isEmpty()) {
+            return inputs.yawDegrees;
+        }
+        return yawHistory.getAt(timestampSeconds);
+    }
+    
+    /**
+     * @return Tiempo FPGA (s) de la muestra de yaw de este loop
+     */
+    public double getYawTimestamp() {
+        return inputs.timestampSeconds;
     }
     
     /**
      * @return Ángulo pitch actual en grados
      */
     public double getPitch() {
-        return pigeon.getPitch().getValueAsDouble();
+        return inputs.pitchDegrees;
+    }
+    
+    /**
+     * @return Velocidad de giro en grados/s (positivo = antihorario)
+     */
+    public double getYawRate() {
+        return inputs.yawRateDegreesPerSecond;
     }
     
     /**
      * @return Ángulo roll actual en grados
      */
     public double getRoll() {
-        return pigeon.getRoll().getValueAsDouble();
+        return inputs.rollDegrees;
+    }
+    
+    public GyroIO.Inputs getInputs() {
+        return inputs;
     }
     
     /**
      * Resetea el yaw a 0 (o al ángulo especificado)
      */
     public void resetYaw(double angle) {
-        pigeon.setYaw(angle);
+        io.setYaw(angle);
+        // El hardware ya lee el ángulo nuevo: no esperar al próximo updateInputs()
+        inputs.yawDegrees = angle;
+        // Las muestras anteriores tienen el offset viejo
+        yawHistory.clear();
+        lastYawResetTime = Timer.getFPGATimestamp();
+        yawHistory.add(lastYawResetTime, angle);
+        hasLatest = false;
+        for (int i = 0; i < yawResetListeners.size(); i++) {
+            yawResetListeners.get(i).accept(angle);
+        }
     }
     
     public void resetYaw() {
         resetYaw(0);
     }
     
-    @Override
-    public void periodic() {
-        // Actualizar SmartDashboard
-        SmartDashboard.putNumber("Gyro Yaw", getYaw());
-        SmartDashboard.putNumber("Gyro Pitch", getPitch());
-        SmartDashboard.putNumber("Gyro Roll", getRoll());
-        SmartDashboard.putBoolean("Auto-turn Active", autoTurnActive);
-        
-        if (autoTurnActive) {
-            double error = targetYaw - getYaw();
-            while (error > 180) error -= 360;
-            while (error < -180) error += 360;
-            
-            SmartDashboard.putNumber("Auto-turn Error", error);
-            SmartDashboard.putNumber("Auto-turn Target", targetYaw);
-            SmartDashboard.putNumber("Auto-turn Settle Timer", settleTimer);
-            SmartDashboard.putNumber("Auto-turn Oscillations", oscillationCount);
-            SmartDashboard.putNumber("Auto-turn Stall Timer", oscillationTimer);
+    /**
+     * Avisa cada vez que se redefine el yaw, con el ángulo nuevo. Lo usa el estimador
+     * de pose para que el reset no gire la pose.
+     */
+    public void addYawResetListener(DoubleConsumer listener) {
+        yawResetListeners.add(listener);
+    }
+    
+    /**
+     * @return Error del auto-turn (objetivo - yaw), 0 si no está activo
+     */
+    public double getAutoTurnError() {
+        if (!autoTurnActive) {
+            return 0.0;
         }
+        return profile.getGoal() - getYaw();
+    }
+    
+    /**
+     * @return Tiempo (s) que tardó el último auto-turn desde que arrancó hasta asentarse o cancelarse
+     */
+    public double getLastAutoTurnDuration() {
+        return lastAutoTurnDuration;
+    }
+    
+    /**
+     * Registra las señales del gyro en la telemetría.
+     */
+    public void registerTelemetry(Telemetry telemetry) {
+        telemetry.addDouble("Gyro Yaw", this::getYaw, Telemetry.kFast, 0.1);
+        telemetry.addDouble("Gyro Pitch", this::getPitch, Telemetry.kSlow, 0.5);
+        telemetry.addDouble("Gyro Roll", this::getRoll, Telemetry.kSlow, 0.5);
+        telemetry.addBoolean("Auto-turn Active", this::isAutoTurnActive, Telemetry.kFast);
+        telemetry.addDouble("Auto-turn Error", this::getAutoTurnError, Telemetry.kFast, 0.1);
+        telemetry.addDouble("Auto-turn Target", profile::getGoal, Telemetry.kNormal);
+        telemetry.addDouble("Auto-turn Setpoint", profile::getSetpoint, Telemetry.kFast, 0.1);
+        telemetry.addDouble("Auto-turn Setpoint Rate", profile::getSetpointRate, Telemetry.kFast, 1.0);
+        telemetry.addDouble("Auto-turn Settle Timer", () -> settleTimer, Telemetry.kNormal);
+        telemetry.addDouble("Auto-turn Duration", this::getLastAutoTurnDuration, Telemetry.kSlow);
     }
-}
\ No newline at end of file
+}
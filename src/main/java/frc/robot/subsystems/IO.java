@@ -1,38 +1,58 @@
 package frc.robot.subsystems;
 
-import com.revrobotics.spark.SparkLowLevel.MotorType;
-import com.revrobotics.spark.SparkMax;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import frc.robot.subsystems.io.IntakeIO;
 
-public class IO extends SubsystemBase {
+public class IO extends BudgetedSubsystem {
 
-    public SparkMax motor1;
-    public SparkMax motor2; 
+    private final IntakeIO io;
+    private final IntakeIO.Inputs inputs = new IntakeIO.Inputs();
+    private double motor1Output = 0.0;
+    private double motor2Output = 0.0;
 
-    public IO() {
-        motor1 = new SparkMax(7, MotorType.kBrushless);
-        motor2 = new SparkMax(8, MotorType.kBrushed);
+    public IO(IntakeIO io) {
+        super(200);
+        this.io = io;
+    }
+
+    /**
+     * Lee el hardware. Se llama una vez por loop antes del scheduler.
+     */
+    public void updateInputs() {
+        io.updateInputs(inputs);
     }
     
     public void shoot(double speed) {
-        motor1.set(speed);
-        motor2.set(speed);
+        set(speed, speed);
     }
 
     public void intake(double speed) {
-        motor1.set(speed);
-        motor2.set(-speed);
+        set(speed, -speed);
     }
 
     public void outtake(double speed) {
-        motor1.set(-speed);
-        motor2.set(speed);
+        set(-speed, speed);
     }
 
     public void stop(double speed) {
-        motor1.set(0);
-        motor2.set(0);
+        set(0, 0);
     }
 
-}
+    private void set(double motor1, double motor2) {
+        motor1Output = motor1;
+        motor2Output = motor2;
+        io.setDutyCycle(motor1, motor2);
+    }
+
+    public double getMotor1Output() {
+        return motor1Output;
+    }
 
+    public double getMotor2Output() {
+        return motor2Output;
+    }
+
+    public IntakeIO.Inputs getInputs() {
+        return inputs;
+    }
+
+}
@@ -0,0 +1,170 @@
+package frc.robot.subsystems;
+
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Publicador central de telemetría para el dashboard.
+ *
+ * <p>Cada señal se registra una sola vez con su publisher de NetworkTables ya creado
+ * (sin búsquedas por string en cada loop), su propio período de publicación y una
+ * zona muerta: si el valor no cambió más que la zona muerta no se vuelve a mandar.
+ * Las señales de texto se construyen a partir de un enum y solo cuando el enum cambia.
+ *
+ * <p>Publica bajo la tabla "SmartDashboard" para que las claves existentes sigan
+ * funcionando en el dashboard.
+ *
+ * <p>No es un subsistema: {@link #publish()} corre en el grupo de telemetría de Robot
+ * cada {@link #kPublishPeriod}, fuera del loop principal. Ningún período es más corto.
+ */
+public class Telemetry {
+
+    // ==================== PERÍODOS ====================
+    /** Período del grupo que llama a {@link #publish()} */
+    public static final double kPublishPeriod = 0.1;
+    public static final double kFast = kPublishPeriod;
+    public static final double kNormal = 0.2;
+    public static final double kSlow = 0.5;
+
+    private final NetworkTable table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
+    private final ArrayList<Signal> signals = new ArrayList<>();
+
+    /**
+     * Registra un número.
+     * @param periodSeconds Cada cuánto se muestrea (ver kFast/kNormal/kSlow)
+     * @param deadband Cambio mínimo para volver a publicar (0 = cualquier cambio)
+     */
+    public void addDouble(String key, DoubleSupplier source, double periodSeconds, double deadband) {
+        signals.add(new DoubleSignal(table.getDoubleTopic(key).publish(), source, periodSeconds, deadband));
+    }
+
+    public void addDouble(String key, DoubleSupplier source, double periodSeconds) {
+        addDouble(key, source, periodSeconds, 0.0);
+    }
+
+    public void addBoolean(String key, BooleanSupplier source, double periodSeconds) {
+        signals.add(new BooleanSignal(table.getBooleanTopic(key).publish(), source, periodSeconds));
+    }
+
+    /**
+     * Registra un texto derivado de un estado. El formatter solo se llama cuando
+     * el estado cambia, así el texto no se arma en cada loop.
+     */
+    public <E extends Enum<E>> void addEnum(String key, Supplier<E> source, Function<E, String> formatter,
+            double periodSeconds) {
+        signals.add(new EnumSignal<>(table.getStringTopic(key).publish(), source, formatter, periodSeconds));
+    }
+
+    /**
+     * Muestrea y publica las señales que les toca.
+     */
+    public void publish() {
+        long now = RobotController.getFPGATime();
+        for (int i = 0; i < signals.size(); i++) {
+            signals.get(i).poll(now);
+        }
+    }
+
+    // ==================== SEÑALES ====================
+
+    private abstract static class Signal {
+        private final long periodMicros;
+        private long nextPublish = 0;
+
+        Signal(double periodSeconds) {
+            // Medio período del grupo de margen: el jitter no hace saltear una pasada
+            periodMicros = (long) ((periodSeconds - kPublishPeriod / 2) * 1e6);
+        }
+
+        final void poll(long now) {
+            if (now < nextPublish) {
+                return;
+            }
+            nextPublish = now + periodMicros;
+            sample();
+        }
+
+        abstract void sample();
+    }
+
+    private static final class DoubleSignal extends Signal {
+        private final DoublePublisher publisher;
+        private final DoubleSupplier source;
+        private final double deadband;
+        private double lastValue = Double.NaN;
+
+        DoubleSignal(DoublePublisher publisher, DoubleSupplier source, double periodSeconds, double deadband) {
+            super(periodSeconds);
+            this.publisher = publisher;
+            this.source = source;
+            this.deadband = deadband;
+        }
+
+        @Override
+        void sample() {
+            double value = source.getAsDouble();
+            // NaN != NaN: el primer valor siempre se publica
+            if (Math.abs(value - lastValue) > deadband || Double.isNaN(lastValue) != Double.isNaN(value)) {
+                publisher.set(value);
+                lastValue = value;
+            }
+        }
+    }
+
+    private static final class BooleanSignal extends Signal {
+        private final BooleanPublisher publisher;
+        private final BooleanSupplier source;
+        private boolean published = false;
+        private boolean lastValue;
+
+        BooleanSignal(BooleanPublisher publisher, BooleanSupplier source, double periodSeconds) {
+            super(periodSeconds);
+            this.publisher = publisher;
+            this.source = source;
+        }
+
+        @Override
+        void sample() {
+            boolean value = source.getAsBoolean();
+            if (!published || value != lastValue) {
+                publisher.set(value);
+                lastValue = value;
+                published = true;
+            }
+        }
+    }
+
+    private static final class EnumSignal<E extends Enum<E>> extends Signal {
+        private final StringPublisher publisher;
+        private final Supplier<E> source;
+        private final Function<E, String> formatter;
+        private E lastValue = null;
+
+        EnumSignal(StringPublisher publisher, Supplier<E> source, Function<E, String> formatter,
+                double periodSeconds) {
+            super(periodSeconds);
+            this.publisher = publisher;
+            this.source = source;
+            this.formatter = formatter;
+        }
+
+        @Override
+        void sample() {
+            E value = source.get();
+            if (value != lastValue) {
+                publisher.set(formatter.apply(value));
+                lastValue = value;
+            }
+        }
+    }
+}
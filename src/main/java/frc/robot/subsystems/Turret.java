@@ -1,31 +1,91 @@
 package frc.robot.subsystems;
 
-import com.revrobotics.RelativeEncoder;
-import com.revrobotics.spark.SparkLowLevel.MotorType;
-import com.revrobotics.spark.SparkMax;
+import static edu.wpi.first.units.Units.Rotations;
+import static edu.wpi.first.units.Units.RotationsPerSecond;
+import static edu.wpi.first.units.Units.Second;
+import static edu.wpi.first.units.Units.Seconds;
+import static edu.wpi.first.units.Units.Volts;
+
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.units.measure.MutAngle;
+import edu.wpi.first.units.measure.MutAngularVelocity;
+import edu.wpi.first.units.measure.MutVoltage;
+import edu.wpi.first.units.measure.Voltage;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
 import edu.wpi.first.wpilibj.DriverStation;
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
-import edu.wpi.first.wpilibj2.command.SubsystemBase;
+import edu.wpi.first.wpilibj.sysid.SysIdRoutineLog;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.sysid.SysIdRoutine;
+import frc.robot.subsystems.io.TurretIO;
+import frc.robot.util.FeedforwardGains;
 
-public class Turret extends SubsystemBase {
+public class Turret extends BudgetedSubsystem {
 
-    public SparkMax motor1;
-    public SparkMax motor2; 
-    public SparkMax motor3;
+    /**
+     * DUTY_CYCLE: el RIO calcula el P-loop a 50 Hz y manda duty cycle.
+     * ONBOARD_POSITION: el SPARK MAX cierra el lazo de posición a 1 kHz y el RIO solo manda setpoints.
+     */
+    public enum ControlMode {
+        DUTY_CYCLE,
+        ONBOARD_POSITION
+    }
     
-    private RelativeEncoder encoder;
+    /**
+     * Estado mostrado en "Turret Status"
+     */
+    public enum State {
+        NORMAL("NORMAL"),
+        WRAP_PHASE_1("WRAPPING FASE 1 (ignorando target)"),
+        WRAP_PHASE_2("WRAPPING FASE 2 (buscando target)");
+        
+        public final String label;
+        
+        State(String label) {
+            this.label = label;
+        }
+    }
+
+    private final TurretIO io;
+    private final TurretIO.Inputs inputs = new TurretIO.Inputs();
     
     // ==================== CONSTANTES ====================
-    private static final double GEAR_RATIO = 250.0 / 14.0;
+    public static final double GEAR_RATIO = 250.0 / 14.0;
     private static final double ROTATIONS_PER_360 = GEAR_RATIO;
     
-    private static final double MAX_ROTATIONS = ROTATIONS_PER_360;
-    private static final double MIN_ROTATIONS = -ROTATIONS_PER_360;
+    public static final double MAX_ROTATIONS = ROTATIONS_PER_360;
+    public static final double MIN_ROTATIONS = -ROTATIONS_PER_360;
     
     private static final double WRAP_TRIGGER_ANGLE = 345.0;
     private static final double WRAP_TARGET_TRAVEL = 360.0;
     private static final double WRAP_SEARCH_START = 100.0;
     private static final double WRAP_SPEED = 0.25;
+    // Los setpoints planeados quedan a este margen de los límites
+    private static final double AIM_LIMIT_MARGIN = 5.0;
+    private static final double MIN_AIM_ANGLE = MIN_ROTATIONS / GEAR_RATIO * 360.0 + AIM_LIMIT_MARGIN;
+    private static final double MAX_AIM_ANGLE = MAX_ROTATIONS / GEAR_RATIO * 360.0 - AIM_LIMIT_MARGIN;
+    
+    // ==================== LAZO CERRADO EN EL SPARK MAX ====================
+    public static final double kPositionP = 0.25;   // duty cycle por rotación de motor de error
+    public static final double kPositionD = 0.0;
+    public static final double kMaxClosedLoopOutput = 0.8;
+    
+    // ==================== FEEDFORWARD ====================
+    // NEO a 5676 rpm libre con la tensión nominal
+    private static final double FREE_SPEED_ROTATIONS_PER_SECOND = 5676.0 / 60.0;
+    // Volts por rotación de motor (kS, por rot/s, por rot/s²) cuando no hay
+    // deploy/characterization/turret.json: kV teórico del NEO, kS y kA estimados
+    private static final FeedforwardGains kDefaultGains = new FeedforwardGains(
+        0.1, FeedforwardGains.kNominalVoltage / FREE_SPEED_ROTATIONS_PER_SECOND, 0.005, 0.0);
+    private static final double kLoopPeriod = 0.02;
+    
+    // ==================== CARACTERIZACIÓN ====================
+    // La torreta tiene ±1 vuelta: empezar cada prueba desde el extremo opuesto al sentido
+    // de giro. Los soft limits del SPARK cortan igual si se pasa.
+    private static final double kSysIdRampVoltsPerSecond = 1.0;
+    private static final double kSysIdStepVolts = 1.5;
+    private static final double kSysIdTimeoutSeconds = 1.5;
     
     // ==================== VELOCIDAD DE SEGUIMIENTO ====================
     private double trackingSpeedMultiplier = 2.0;  // ✅ NUEVO - multiplicador de velocidad (1.0 = 100%)
@@ -35,24 +95,63 @@ public class Turret extends SubsystemBase {
     private int wrapDirection = 0;
     private double wrapStartAngle = 0.0;
     private double totalWrapTravel = 0.0;
+    private ControlMode controlMode = ControlMode.ONBOARD_POSITION;
+    private double lastDutyCycle = 0.0;
+    private double positionSetpoint = Double.NaN;
+    private double feedforward = 0.0;
+    // Último setpoint corrido por el grupo de control rápido
+    private double compensatedSetpoint = Double.NaN;
+    
+    // ==================== LOG ====================
+    private static final double WRAP_END_TARGET_FOUND = 1;
+    private static final double WRAP_END_MAX_TRAVEL = 2;
+    /** [ángulo inicial, dirección] */
+    private final DoubleArrayLogEntry wrapStartLog;
+    /** [ángulo inicial, ángulo final, recorrido, motivo] */
+    private final DoubleArrayLogEntry wrapEndLog;
+    private final double[] wrapStartRecord = new double[2];
+    private final double[] wrapEndRecord = new double[4];
     
-    public Turret() {
-        motor3 = new SparkMax(9, MotorType.kBrushless);
+    private final SimpleMotorFeedforward velocityFeedforward;
+    private final SysIdRoutine sysIdRoutine;
+    private final MutVoltage sysIdVoltage = Volts.mutable(0);
+    private final MutAngle sysIdPosition = Rotations.mutable(0);
+    private final MutAngularVelocity sysIdVelocity = RotationsPerSecond.mutable(0);
+    
+    public Turret(TurretIO io) {
+        super(500);
+        this.io = io;
+        DataLog log = DataLogManager.getLog();
+        wrapStartLog = new DoubleArrayLogEntry(log, "/Turret/WrapStart");
+        wrapEndLog = new DoubleArrayLogEntry(log, "/Turret/WrapEnd");
+        
+        velocityFeedforward = FeedforwardGains.load("turret", kDefaultGains).toFeedforward(kLoopPeriod);
+        sysIdRoutine = new SysIdRoutine(
+            new SysIdRoutine.Config(
+                Volts.per(Second).of(kSysIdRampVoltsPerSecond),
+                Volts.of(kSysIdStepVolts),
+                Seconds.of(kSysIdTimeoutSeconds)),
+            new SysIdRoutine.Mechanism(this::runVoltage, this::logCharacterization, this));
         
-        encoder = motor3.getEncoder();
-        encoder.setPosition(0);
+        io.resetPosition(0);
         homePosition = 0.0;
         
         DriverStation.reportWarning("Torreta inicializada | Home position establecida", false);
     }
     
+    /**
+     * Lee el hardware. Se llama una vez por loop antes del scheduler.
+     */
+    public void updateInputs() {
+        io.updateInputs(inputs);
+    }
+    
     /**
      * ✅ NUEVO - Establece la velocidad de seguimiento del April Tag
      * @param speed Multiplicador de velocidad (0.0 a 2.0, donde 1.0 = velocidad normal)
      */
     public void setTrackingSpeed(double speed) {
         trackingSpeedMultiplier = Math.max(0.1, Math.min(2.0, speed)); // Limitar entre 0.1 y 2.0
-        SmartDashboard.putNumber("Turret Tracking Speed", trackingSpeedMultiplier);
     }
     
     /**
@@ -63,15 +162,118 @@ public class Turret extends SubsystemBase {
         return trackingSpeedMultiplier;
     }
     
+    public ControlMode getControlMode() {
+        return controlMode;
+    }
+    
+    public void setControlMode(ControlMode mode) {
+        controlMode = mode;
+    }
+    
+    /**
+     * Manda un setpoint de posición al lazo del SPARK MAX.
+     * @param rotations Posición del encoder (rotaciones de motor), se limita a MIN/MAX_ROTATIONS
+     */
+    public void setTargetPosition(double rotations) {
+        setTargetPosition(rotations, 0.0);
+    }
+    
+    /**
+     * Setpoint de posición con un feedforward que el SPARK suma a la salida del lazo.
+     * @param feedforwardDutyCycle Duty cycle para la velocidad esperada (ver {@link #getVelocityFeedforward})
+     */
+    public void setTargetPosition(double rotations, double feedforwardDutyCycle) {
+        double clamped = Math.max(MIN_ROTATIONS, Math.min(MAX_ROTATIONS, rotations));
+        io.setPosition(clamped, feedforwardDutyCycle);
+        positionSetpoint = clamped;
+        feedforward = feedforwardDutyCycle;
+    }
+    
+    /**
+     * Entre loops (grupo de control rápido): corre el setpoint del loop lo que giró el
+     * chasis desde entonces, para que la torreta siga apuntando al mismo lugar de la cancha.
+     * El setpoint del loop no cambia (el corrido queda en {@link #getCompensatedSetpoint()});
+     * el próximo loop manda uno nuevo. Por eso los setpoints de ONBOARD_POSITION no se
+     * adelantan con la velocidad esperada.
+     * @param chassisYawDeltaDegrees Giro del chasis desde la muestra del loop (+ antihorario)
+     * @return false si no se mandó nada (sin setpoint, dando la vuelta o sin giro)
+     */
+    public boolean compensateChassisRotation(double chassisYawDeltaDegrees) {
+        if (Double.isNaN(positionSetpoint) || isWrapping || chassisYawDeltaDegrees == 0.0) {
+            return false;
+        }
+        double rotations = positionSetpoint - degreesToRotations(chassisYawDeltaDegrees);
+        compensatedSetpoint = Math.max(MIN_ROTATIONS, Math.min(MAX_ROTATIONS, rotations));
+        io.setPosition(compensatedSetpoint, feedforward);
+        return true;
+    }
+
+    /**
+     * @param turretDegreesPerSecond Velocidad de torreta esperada
+     * @return Duty cycle (fracción de la tensión nominal) que la sostiene, según la caracterización
+     */
+    public double getVelocityFeedforward(double turretDegreesPerSecond) {
+        return velocityFeedforward.calculate(degreesToRotations(turretDegreesPerSecond))
+            / FeedforwardGains.kNominalVoltage;
+    }
+    
+    /**
+     * Manda un setpoint en grados de torreta al lazo del SPARK MAX.
+     */
+    public void setTargetAngle(double degrees) {
+        setTargetPosition(degreesToRotations(degrees));
+    }
+    
+    /**
+     * @return Rotaciones de motor equivalentes a un ángulo de torreta
+     */
+    public static double degreesToRotations(double degrees) {
+        return degrees / 360.0 * GEAR_RATIO;
+    }
+    
+    /**
+     * Elige, entre los ángulos equivalentes al objetivo (± n·360°) que entran en los
+     * límites, el más cercano al actual. Así un wrap es un solo movimiento planeado
+     * en vez de una búsqueda.
+     * @param targetDegrees Ángulo objetivo (cualquier vuelta)
+     * @param currentDegrees Ángulo actual de la torreta
+     * @return Ángulo alcanzable más cercano
+     */
+    public static double nearestReachableAngle(double targetDegrees, double currentDegrees) {
+        // Primer equivalente por encima del límite inferior
+        double candidate = targetDegrees - 360.0 * Math.floor((targetDegrees - MIN_AIM_ANGLE) / 360.0);
+        double best = candidate;
+        for (candidate += 360.0; candidate <= MAX_AIM_ANGLE; candidate += 360.0) {
+            if (Math.abs(candidate - currentDegrees) < Math.abs(best - currentDegrees)) {
+                best = candidate;
+            }
+        }
+        return Math.min(best, MAX_AIM_ANGLE);
+    }
+    
+    /**
+     * @return Ángulo alcanzable más cercano a la posición actual (ver {@link #nearestReachableAngle})
+     */
+    public double getNearestReachableAngle(double targetDegrees) {
+        return nearestReachableAngle(targetDegrees, getAngleDegrees());
+    }
+    
     public void rotate(double speed) {
-        double currentPosition = encoder.getPosition();
+        double currentPosition = inputs.positionRotations;
         
         if (isAtHardLimit(speed, currentPosition)) {
-            motor3.set(0);
+            setDutyCycle(0);
         } else {
-            motor3.set(speed);
+            setDutyCycle(speed);
         }
     }
+    
+    private void setDutyCycle(double output) {
+        io.setDutyCycle(output);
+        lastDutyCycle = output;
+        positionSetpoint = Double.NaN;
+        feedforward = 0.0;
+    }
 
     public double getWrapCommand(boolean targetVisible) {
         if (!isWrapping) {
@@ -84,9 +286,6 @@ public class Turret extends SubsystemBase {
         
         // FASE 1: 0° - 100° → Solo girar, ignorar Limelight
         if (totalWrapTravel < WRAP_SEARCH_START) {
-            SmartDashboard.putString("Turret Status", 
-                String.format("WRAPPING FASE 1: %.1f° / %.0f° (ignorando target)", 
-                    totalWrapTravel, WRAP_SEARCH_START));
             return command;
         }
         
@@ -94,11 +293,7 @@ public class Turret extends SubsystemBase {
         if (targetVisible) {
             isWrapping = false;
             wrapDirection = 0;
-            DriverStation.reportWarning(
-                String.format("✓ Wrap completado (TARGET ENCONTRADO) | %.1f° → %.1f° (viajó %.1f°)", 
-                    wrapStartAngle, currentAngle, totalWrapTravel),
-                false
-            );
+            logWrapEnd(currentAngle, WRAP_END_TARGET_FOUND);
             totalWrapTravel = 0.0;
             return 0.0;
         }
@@ -106,22 +301,22 @@ public class Turret extends SubsystemBase {
         if (totalWrapTravel >= WRAP_TARGET_TRAVEL) {
             isWrapping = false;
             wrapDirection = 0;
-            DriverStation.reportWarning(
-                String.format("✓ Wrap completado (DISTANCIA MÁXIMA) | %.1f° → %.1f° (viajó %.1f°)", 
-                    wrapStartAngle, currentAngle, totalWrapTravel),
-                false
-            );
+            logWrapEnd(currentAngle, WRAP_END_MAX_TRAVEL);
             totalWrapTravel = 0.0;
             return 0.0;
         }
         
-        SmartDashboard.putString("Turret Status", 
-            String.format("WRAPPING FASE 2: %.1f° / %.0f° (buscando target: %s)", 
-                totalWrapTravel, WRAP_TARGET_TRAVEL, targetVisible ? "SÍ" : "NO"));
-        
         return command;
     }
     
+    private void logWrapEnd(double currentAngle, double reason) {
+        wrapEndRecord[0] = wrapStartAngle;
+        wrapEndRecord[1] = currentAngle;
+        wrapEndRecord[2] = totalWrapTravel;
+        wrapEndRecord[3] = reason;
+        wrapEndLog.append(wrapEndRecord);
+    }
+    
     public boolean isInSearchPhase() {
         if (!isWrapping) {
             return false;
@@ -141,6 +336,7 @@ public class Turret extends SubsystemBase {
     
     /**
      * ✅ MODIFICADO - Ahora aplica el multiplicador de velocidad
+     * @param targetTx Error de apuntado en grados (actual - objetivo), mismo signo que tx
      */
     public double getSmartRotationCommand(double targetTx, double kP, boolean targetVisible) {
         double currentAngle = getAngleDegrees();
@@ -158,22 +354,14 @@ public class Turret extends SubsystemBase {
                 totalWrapTravel = 0.0;
                 wrapDirection = (currentAngle > 0) ? -1 : 1;
                 
-                DriverStation.reportWarning(
-                    String.format("🔄 WRAP ACTIVADO | Desde: %.1f° | Dirección: %s", 
-                        currentAngle, 
-                        (wrapDirection > 0 ? "DERECHA (+)" : "IZQUIERDA (-)")),
-                    false
-                );
+                wrapStartRecord[0] = currentAngle;
+                wrapStartRecord[1] = wrapDirection;
+                wrapStartLog.append(wrapStartRecord);
                 
                 return 0.0;
             }
         }
         
-        SmartDashboard.putString("Turret Status", 
-            String.format("NORMAL: %.1f° | tx: %.2f | tv: %s | speed: %.1f%%", 
-                currentAngle, targetTx, targetVisible ? "SÍ" : "NO", 
-                trackingSpeedMultiplier * 100)); // ✅ Mostrar velocidad en SmartDashboard
-        
         return -kP * targetTx * trackingSpeedMultiplier; // ✅ Aplicar multiplicador
     }
     
@@ -186,6 +374,44 @@ public class Turret extends SubsystemBase {
         return isWrapping;
     }
     
+    /**
+     * @return Estado actual (normal o fase del wrap)
+     */
+    public State getState() {
+        if (!isWrapping) {
+            return State.NORMAL;
+        }
+        return isInSearchPhase() ? State.WRAP_PHASE_2 : State.WRAP_PHASE_1;
+    }
+    
+    /**
+     * @return Último duty cycle mandado (0 si está en lazo cerrado)
+     */
+    public double getLastDutyCycle() {
+        return Double.isNaN(positionSetpoint) ? lastDutyCycle : 0.0;
+    }
+    
+    /**
+     * @return Feedforward mandado con el último setpoint (0 en duty cycle)
+     */
+    public double getFeedforward() {
+        return feedforward;
+    }
+    
+    /**
+     * @return Setpoint del lazo del SPARK MAX en rotaciones, NaN si está en duty cycle
+     */
+    public double getPositionSetpoint() {
+        return positionSetpoint;
+    }
+    
+    /**
+     * @return Setpoint (rotaciones de motor) del último {@link #compensateChassisRotation}
+     */
+    public double getCompensatedSetpoint() {
+        return compensatedSetpoint;
+    }
+    
     public void cancelWrapping() {
         isWrapping = false;
         wrapDirection = 0;
@@ -195,7 +421,7 @@ public class Turret extends SubsystemBase {
     }
     
     public void resetHome() {
-        encoder.setPosition(0);
+        io.resetPosition(0);
         homePosition = 0.0;
         isWrapping = false;
         wrapDirection = 0;
@@ -205,11 +431,59 @@ public class Turret extends SubsystemBase {
     }
     
     public double getAngleDegrees() {
-        return (encoder.getPosition() / GEAR_RATIO) * 360.0;
+        return (inputs.positionRotations / GEAR_RATIO) * 360.0;
+    }
+    
+    /**
+     * @return Cantidad de muestras de posición de este loop (ver {@link #getOdometryAngleDegrees})
+     */
+    public int getOdometrySampleCount() {
+        return inputs.odometrySamples;
+    }
+    
+    public double getOdometryTimestamp(int sample) {
+        return inputs.odometryTimestamps[sample];
+    }
+    
+    /**
+     * @return Ángulo de la torreta en la muestra pedida, de la más vieja (0) a la más nueva
+     */
+    public double getOdometryAngleDegrees(int sample) {
+        return (inputs.odometryPositionRotations[sample] / GEAR_RATIO) * 360.0;
     }
     
     public double getEncoderPosition() {
-        return encoder.getPosition();
+        return inputs.positionRotations;
+    }
+    
+    public TurretIO.Inputs getInputs() {
+        return inputs;
+    }
+    
+    // ==================== CARACTERIZACIÓN ====================
+    
+    /**
+     * Rutinas de SysId: registran tensión, posición y velocidad del motor en el WPILOG
+     * ("turret"). El resultado va a deploy/characterization/turret.json.
+     */
+    public Command sysIdQuasistatic(SysIdRoutine.Direction direction) {
+        return sysIdRoutine.quasistatic(direction).withName("SysId Turret Quasistatic " + direction);
+    }
+    
+    public Command sysIdDynamic(SysIdRoutine.Direction direction) {
+        return sysIdRoutine.dynamic(direction).withName("SysId Turret Dynamic " + direction);
+    }
+    
+    private void runVoltage(Voltage voltage) {
+        // Sin isAtHardLimit: la prueba necesita la tensión pedida hasta los soft limits
+        setDutyCycle(voltage.in(Volts) / FeedforwardGains.kNominalVoltage);
+    }
+    
+    private void logCharacterization(SysIdRoutineLog log) {
+        log.motor("turret")
+            .voltage(sysIdVoltage.mut_replace(lastDutyCycle * FeedforwardGains.kNominalVoltage, Volts))
+            .angularPosition(sysIdPosition.mut_replace(inputs.positionRotations, Rotations))
+            .angularVelocity(sysIdVelocity.mut_replace(inputs.velocityRpm / 60.0, RotationsPerSecond));
     }
     
     public void rotateLeft(double speed) {
@@ -229,22 +503,25 @@ public class Turret extends SubsystemBase {
     }
     
     public void stop(double speed){
-        motor3.set(0);
-    }
-    
-    @Override
-    public void periodic() {
-        SmartDashboard.putNumber("Turret Angle (deg)", getAngleDegrees());
-        SmartDashboard.putNumber("Turret Encoder (rot)", encoder.getPosition());
-        SmartDashboard.putBoolean("Turret Near Limit", isNearLimit());
-        SmartDashboard.putBoolean("Turret Wrapping", isWrapping);
-        SmartDashboard.putNumber("Turret Wrap Direction", wrapDirection);
-        SmartDashboard.putBoolean("Turret In Search Phase", isInSearchPhase());
-        SmartDashboard.putNumber("Turret Tracking Speed", trackingSpeedMultiplier); // ✅ NUEVO
-        
-        if (isWrapping) {
-            SmartDashboard.putNumber("Turret Wrap Travel", totalWrapTravel);
-            SmartDashboard.putNumber("Turret Wrap Start", wrapStartAngle);
-        }
+        setDutyCycle(0);
+    }
+    
+    /**
+     * Registra las señales de la torreta en la telemetría.
+     */
+    public void registerTelemetry(Telemetry telemetry) {
+        telemetry.addDouble("Turret Angle (deg)", this::getAngleDegrees, Telemetry.kFast, 0.1);
+        telemetry.addDouble("Turret Encoder (rot)", this::getEncoderPosition, Telemetry.kNormal, 0.01);
+        telemetry.addDouble("Turret Cmd", this::getLastDutyCycle, Telemetry.kFast, 0.01);
+        telemetry.addDouble("Turret Setpoint (rot)", this::getPositionSetpoint, Telemetry.kFast, 0.01);
+        telemetry.addDouble("Turret Feedforward", this::getFeedforward, Telemetry.kFast, 0.01);
+        telemetry.addBoolean("Turret Near Limit", this::isNearLimit, Telemetry.kNormal);
+        telemetry.addBoolean("Turret Wrapping", this::isWrapping, Telemetry.kFast);
+        telemetry.addDouble("Turret Wrap Direction", () -> wrapDirection, Telemetry.kNormal);
+        telemetry.addBoolean("Turret In Search Phase", this::isInSearchPhase, Telemetry.kNormal);
+        telemetry.addDouble("Turret Tracking Speed", () -> trackingSpeedMultiplier, Telemetry.kSlow);
+        telemetry.addDouble("Turret Wrap Travel", () -> totalWrapTravel, Telemetry.kNormal, 1.0);
+        telemetry.addDouble("Turret Wrap Start", () -> wrapStartAngle, Telemetry.kNormal);
+        telemetry.addEnum("Turret Status", this::getState, state -> state.label, Telemetry.kFast);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package frc.robot.subsystems;
+
+import java.util.function.IntSupplier;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.vision.LimelightClient;
+import frc.robot.vision.TurretAimEstimator;
+import frc.robot.vision.VisionSample;
+
+/**
+ * Lee la Limelight una vez por loop y mantiene el ángulo objetivo compensado por latencia.
+ * No tiene actuadores: ningún comando necesita requerirlo.
+ */
+public class Vision extends BudgetedSubsystem {
+
+    private final LimelightClient limelight;
+    private final TurretAimEstimator aimEstimator;
+    private final Turret turret;
+    private final Gyro gyro;
+    private final IntSupplier targetTag;
+
+    /**
+     * @param turret Torreta donde está montada la cámara
+     * @param gyro Yaw del chasis, para llevar cada frame a la cancha
+     * @param targetTag Tag de la alianza actual
+     */
+    public Vision(Turret turret, Gyro gyro, IntSupplier targetTag) {
+        super(500);
+        this.turret = turret;
+        this.gyro = gyro;
+        this.targetTag = targetTag;
+        limelight = new LimelightClient("limelight");
+        aimEstimator = new TurretAimEstimator(gyro::getYawAt);
+        gyro.addYawResetListener(yaw -> aimEstimator.onYawReset(Timer.getFPGATimestamp()));
+    }
+
+    /**
+     * @return Último snapshot de la Limelight
+     */
+    public VisionSample getLatest() {
+        return limelight.getLatest();
+    }
+
+    /**
+     * Se mira el estimador y no el último frame crudo: después de {@link #reset()} o de un
+     * reset del yaw el frame puede seguir viendo el tag mientras el ángulo guardado ya no
+     * vale, y un parpadeo de un loop no debe soltar el seguimiento.
+     * @return true si hay un ángulo al tag de la alianza de hace menos de 0.25 s
+     */
+    public boolean isTargetVisible() {
+        return aimEstimator.hasTarget();
+    }
+
+    /**
+     * @return Ángulo de torreta (grados) que centra el tag con el yaw actual, compensado
+     *         por latencia y por lo que giraron la torreta y el chasis desde la captura
+     */
+    public double getTargetAngleDegrees() {
+        return aimEstimator.getTargetAngleDegrees(gyro.getYaw());
+    }
+
+    /**
+     * @return Error de apuntado en grados (actual - objetivo), mismo signo que tx
+     */
+    public double getAimErrorDegrees() {
+        return turret.getAngleDegrees() - getTargetAngleDegrees();
+    }
+
+    /**
+     * Descarta el historial de la torreta (después de resetear el home).
+     */
+    public void reset() {
+        aimEstimator.reset();
+    }
+
+    @Override
+    protected void budgetedPeriodic() {
+        limelight.update();
+        // Todas las muestras desde el loop anterior: el historial queda a la frecuencia del thread de odometría
+        for (int i = 0; i < turret.getOdometrySampleCount(); i++) {
+            aimEstimator.addTurretSample(turret.getOdometryTimestamp(i), turret.getOdometryAngleDegrees(i));
+        }
+        aimEstimator.update(limelight, targetTag.getAsInt());
+    }
+
+    /**
+     * Registra las señales de visión en la telemetría.
+     */
+    public void registerTelemetry(Telemetry telemetry) {
+        VisionSample vision = limelight.getLatest();
+        telemetry.addDouble("Limelight tx", vision::getTx, Telemetry.kFast, 0.05);
+        telemetry.addDouble("Limelight tv", () -> vision.isValid() ? 1 : 0, Telemetry.kFast);
+        telemetry.addDouble("Limelight tid", vision::getTid, Telemetry.kNormal);
+        telemetry.addBoolean("Correct Tag Visible", this::isTargetVisible, Telemetry.kFast);
+        telemetry.addDouble("Target Tag ID", targetTag::getAsInt, Telemetry.kSlow);
+        telemetry.addDouble("Turret Target Angle", this::getTargetAngleDegrees, Telemetry.kFast, 0.1);
+    }
+}
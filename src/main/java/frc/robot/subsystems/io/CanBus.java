@@ -0,0 +1,297 @@
+package frc.robot.subsystems.io;
+
+import java.util.ArrayList;
+import java.util.function.BooleanSupplier;
+
+import com.revrobotics.REVLibError;
+import com.revrobotics.spark.SparkBase.PersistMode;
+import com.revrobotics.spark.SparkBase.ResetMode;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SignalsConfig;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+import edu.wpi.first.hal.can.CANStatus;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotController;
+import frc.robot.subsystems.Telemetry;
+
+/**
+ * Configuración central de las señales periódicas de los SPARK MAX y estimación de la
+ * carga del bus CAN.
+ *
+ * <p>Cada capa IO real le pasa cada controlador con su config y su {@link Profile}; acá se
+ * fijan todos los períodos de {@code SparkMaxConfig.signals} y se manda la config.
+ * Lo que nadie lee (analógico, encoders alternativos y absolutos, todo lo de los
+ * seguidores) se manda cada {@code kUnusedPeriodMs}; así las tramas que sí importan
+ * (posición de la torreta y del drivetrain) esperan menos en el bus.
+ *
+ * <p>Con los períodos se estima la carga del bus y se compara con la medida por el
+ * roboRIO ({@link RobotController#getCANStatus()}) en la telemetría.
+ *
+ * <p>Al arrancar ninguna configuración espera al bus: los SPARK MAX se configuran con
+ * {@code configureAsync} y lo que es bloqueante (el Pigeon) corre en el thread
+ * "CAN Config". Ese thread después verifica cada dispositivo, reintenta en forma
+ * bloqueante el que no quedó bien y avisa cuánto tardó cada uno. Nadie espera la
+ * verificación: Robot mira el resultado en disabled ({@link #isConfigured}) y, si al
+ * habilitar todavía no está, solo lo avisa.
+ */
+public final class CanBus {
+
+    // ==================== BUS ====================
+    private static final double kBitrate = 1_000_000.0;
+    // Trama extendida con 8 bytes de datos, con algo de bit stuffing
+    private static final double kBitsPerFrame = 130.0;
+
+    // ==================== PERÍODOS (ms) ====================
+    private static final int kUnusedPeriodMs = 1000;
+    private static final int kStatusPeriodMs = 250;   // voltaje, temperatura, fallas
+
+    // ==================== ARRANQUE ====================
+    private static final int kVerifyAttempts = 5;
+    private static final long kVerifyRetryMillis = 20;
+
+    /**
+     * Qué lee el robot de cada controlador. Los períodos son los de cada grupo de señales.
+     */
+    public enum Profile {
+        /** Drivetrain: posición para la odometría; los seguidores copian su salida aplicada */
+        DRIVE_LEADER(10, 20, 5, 20, 200),
+        /** Solo sigue al líder: nadie lee sus señales más que la corriente para el log */
+        FOLLOWER(100, 100, kUnusedPeriodMs, kUnusedPeriodMs, 0),
+        /** Torreta: posición rápida para la latencia de la cámara y el lazo del grupo de control */
+        TURRET(20, 20, 5, 20, 200),
+        /** Intake y climber: salida y corriente para el log, el encoder no se usa */
+        MECHANISM(20, 20, kUnusedPeriodMs, kUnusedPeriodMs, 50);
+
+        final int appliedOutputMs;
+        final int currentMs;
+        final int positionMs;
+        final int velocityMs;
+        /** Tramas de comando que manda el roboRIO (set() o setReference()) por segundo */
+        final double commandsPerSecond;
+
+        Profile(int appliedOutputMs, int currentMs, int positionMs, int velocityMs, double commandsPerSecond) {
+            this.appliedOutputMs = appliedOutputMs;
+            this.currentMs = currentMs;
+            this.positionMs = positionMs;
+            this.velocityMs = velocityMs;
+            this.commandsPerSecond = commandsPerSecond;
+        }
+
+        void apply(SignalsConfig signals) {
+            // Las fallas y el voltaje vienen en otra trama, no hace falta que vayan rápido
+            int statusMs = this == FOLLOWER ? kUnusedPeriodMs : kStatusPeriodMs;
+            signals
+                .appliedOutputPeriodMs(appliedOutputMs)
+                .outputCurrentPeriodMs(currentMs)
+                .busVoltagePeriodMs(statusMs)
+                .motorTemperaturePeriodMs(statusMs)
+                .limitsPeriodMs(statusMs)
+                .faultsPeriodMs(statusMs)
+                .warningsPeriodMs(statusMs)
+                .primaryEncoderPositionPeriodMs(positionMs)
+                .primaryEncoderVelocityPeriodMs(velocityMs)
+                .analogVoltagePeriodMs(kUnusedPeriodMs)
+                .analogPositionPeriodMs(kUnusedPeriodMs)
+                .analogVelocityPeriodMs(kUnusedPeriodMs)
+                .externalOrAltEncoderPosition(kUnusedPeriodMs)
+                .externalOrAltEncoderVelocity(kUnusedPeriodMs)
+                .absoluteEncoderPositionPeriodMs(kUnusedPeriodMs)
+                .absoluteEncoderVelocityPeriodMs(kUnusedPeriodMs)
+                .iAccumulationPeriodMs(kUnusedPeriodMs);
+        }
+
+        /**
+         * Tramas por segundo del controlador. Cada trama de estado va al período de su
+         * señal más rápida: 0 = salida, corriente, voltaje, temperatura y límites;
+         * 1 = fallas y advertencias; 2 = encoder principal; 3-7 = analógico, alternativo,
+         * absoluto e integrador.
+         */
+        double framesPerSecond() {
+            int statusMs = this == FOLLOWER ? kUnusedPeriodMs : kStatusPeriodMs;
+            double frames = 1000.0 / Math.min(Math.min(appliedOutputMs, currentMs), statusMs)
+                + 1000.0 / statusMs
+                + 1000.0 / Math.min(positionMs, velocityMs)
+                + 5 * 1000.0 / kUnusedPeriodMs;
+            return frames + commandsPerSecond;
+        }
+    }
+
+    private static CanBus instance;
+
+    private final ArrayList<String> names = new ArrayList<>();
+    private final ArrayList<Double> loads = new ArrayList<>();
+    private double estimatedFramesPerSecond = 0.0;
+    private CANStatus lastStatus = null;
+
+    private final ArrayList<PendingConfig> pending = new ArrayList<>();
+    private Thread verifier = null;
+    private volatile boolean allConfigured = false;
+    private volatile boolean verificationDone = false;
+
+    private CanBus() {
+    }
+
+    public static synchronized CanBus getInstance() {
+        if (instance == null) {
+            instance = new CanBus();
+        }
+        return instance;
+    }
+
+    /**
+     * Fija todos los períodos de señales según el perfil, suma el SPARK MAX a la
+     * estimación y le manda la config sin esperar la respuesta.
+     * @param name Nombre para los resúmenes (por ejemplo "Drive Left Leader (1)")
+     * @param resetMode kResetSafeParameters si la config es completa, si no kNoResetSafeParameters
+     */
+    public void configureAsync(String name, SparkMax motor, Profile profile, SparkMaxConfig config,
+            ResetMode resetMode) {
+        profile.apply(config.signals);
+        addLoad(name, profile.framesPerSecond());
+        long issued = RobotController.getFPGATime();
+        REVLibError error = motor.configureAsync(config, resetMode, PersistMode.kNoPersistParameters);
+        int expectedPositionMs = profile.positionMs;
+        pending.add(new PendingConfig(name, issued,
+            // La lectura vuelve después de que el SPARK procesó los parámetros anteriores
+            () -> error == REVLibError.kOk
+                && motor.configAccessor.signals.getPrimaryEncoderPositionPeriodMs() == expectedPositionMs,
+            () -> motor.configure(config, resetMode, PersistMode.kNoPersistParameters) == REVLibError.kOk));
+    }
+
+    /**
+     * Configuración bloqueante (Phoenix) que corre en el thread "CAN Config" en vez de
+     * en el constructor.
+     * @param blockingConfig Devuelve true si el dispositivo respondió bien
+     */
+    public void configureInBackground(String name, BooleanSupplier blockingConfig) {
+        pending.add(new PendingConfig(name, RobotController.getFPGATime(), blockingConfig, blockingConfig));
+    }
+
+    /**
+     * Arranca el thread que aplica lo bloqueante y verifica todo. Llamar una vez,
+     * después de crear todas las capas IO.
+     */
+    public synchronized void startVerification() {
+        if (verifier != null) {
+            return;
+        }
+        verifier = new Thread(this::verifyAll, "CAN Config");
+        verifier.setDaemon(true);
+        verifier.start();
+    }
+
+    private void verifyAll() {
+        boolean ok = true;
+        StringBuilder summary = new StringBuilder("Config CAN:");
+        for (PendingConfig device : pending) {
+            boolean verified = device.verify();
+            long millis = (RobotController.getFPGATime() - device.issuedMicros) / 1000;
+            summary.append(String.format(" | %s %d ms%s", device.name, millis, verified ? "" : " FALLÓ"));
+            ok &= verified;
+        }
+        allConfigured = ok;
+        verificationDone = true;
+        if (ok) {
+            DriverStation.reportWarning(summary.toString(), false);
+        } else {
+            DriverStation.reportError(summary.toString(), false);
+        }
+    }
+
+    /**
+     * No espera: si el thread sigue verificando devuelve false. En simulación y replay no
+     * hay nada que verificar.
+     * @return true si terminó la verificación y todos los dispositivos quedaron configurados
+     */
+    public boolean isConfigured() {
+        synchronized (this) {
+            if (verifier == null) {
+                return true;
+            }
+        }
+        return verificationDone && allConfigured;
+    }
+
+    /**
+     * Suma a la estimación un dispositivo que no es un SPARK MAX (el Pigeon).
+     */
+    public void addLoad(String name, double framesPerSecond) {
+        names.add(name);
+        loads.add(framesPerSecond);
+        estimatedFramesPerSecond += framesPerSecond;
+    }
+
+    /**
+     * @return Carga estimada del bus (0 a 1) con los períodos configurados
+     */
+    public double getEstimatedUtilization() {
+        return estimatedFramesPerSecond * kBitsPerFrame / kBitrate;
+    }
+
+    /**
+     * Avisa la carga estimada, total y por dispositivo. Llamar una vez, después de
+     * crear todas las capas IO.
+     */
+    public void reportEstimate() {
+        StringBuilder summary = new StringBuilder(String.format("CAN estimado: %.1f%%", getEstimatedUtilization() * 100));
+        for (int i = 0; i < names.size(); i++) {
+            summary.append(String.format(" | %s %.0f tramas/s", names.get(i), loads.get(i)));
+        }
+        DriverStation.reportWarning(summary.toString(), false);
+    }
+
+    /**
+     * Config pendiente de un dispositivo: primero se verifica unas veces (la config
+     * asíncrona puede seguir en viaje) y si no quedó se repite en forma bloqueante.
+     */
+    private static final class PendingConfig {
+        final String name;
+        final long issuedMicros;
+        private final BooleanSupplier check;
+        private final BooleanSupplier retry;
+
+        PendingConfig(String name, long issuedMicros, BooleanSupplier check, BooleanSupplier retry) {
+            this.name = name;
+            this.issuedMicros = issuedMicros;
+            this.check = check;
+            this.retry = retry;
+        }
+
+        boolean verify() {
+            for (int attempt = 0; attempt < kVerifyAttempts; attempt++) {
+                if (check.getAsBoolean()) {
+                    return true;
+                }
+                try {
+                    Thread.sleep(kVerifyRetryMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return retry.getAsBoolean();
+        }
+    }
+
+    // La carga medida se lee una vez por publicación; las demás señales usan la misma lectura
+    private double readMeasuredUtilization() {
+        lastStatus = RobotController.getCANStatus();
+        return lastStatus.percentBusUtilization * 100;
+    }
+
+    /**
+     * Registra la carga estimada y la medida, y los contadores de error del bus.
+     */
+    public void registerTelemetry(Telemetry telemetry) {
+        // Se registra primero: las otras señales leen el CANStatus que deja esta
+        telemetry.addDouble("CAN Measured Utilization", this::readMeasuredUtilization, Telemetry.kSlow, 0.5);
+        telemetry.addDouble("CAN Estimated Utilization", () -> getEstimatedUtilization() * 100, Telemetry.kSlow, 0.5);
+        telemetry.addDouble("CAN TX Full", () -> lastStatus == null ? 0 : lastStatus.txFullCount, Telemetry.kSlow);
+        telemetry.addDouble("CAN Errors",
+            () -> lastStatus == null ? 0 : lastStatus.receiveErrorCount + lastStatus.transmitErrorCount,
+            Telemetry.kSlow);
+        telemetry.addDouble("CAN Bus Off", () -> lastStatus == null ? 0 : lastStatus.busOffCount, Telemetry.kSlow);
+        telemetry.addBoolean("CAN Configured", this::isConfigured, Telemetry.kSlow);
+    }
+}
@@ -0,0 +1,21 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Hardware del climber: un motor brushed.
+ */
+public interface ClimberIO {
+
+    class Inputs {
+        public double appliedOutput = 0.0;
+        public double currentAmps = 0.0;
+
+        public void copyFrom(Inputs other) {
+            appliedOutput = other.appliedOutput;
+            currentAmps = other.currentAmps;
+        }
+    }
+
+    default void updateInputs(Inputs inputs) {}
+
+    default void setDutyCycle(double output) {}
+}
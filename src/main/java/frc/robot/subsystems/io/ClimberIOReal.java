@@ -0,0 +1,31 @@
+package frc.robot.subsystems.io;
+
+import com.revrobotics.spark.SparkBase.ResetMode;
+import com.revrobotics.spark.SparkLowLevel.MotorType;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+/**
+ * Climber: motor brushed en CAN 10.
+ */
+public class ClimberIOReal implements ClimberIO {
+
+    private final SparkMax motor = new SparkMax(10, MotorType.kBrushed);
+
+    public ClimberIOReal() {
+        // Solo cambian los períodos de señales: el resto queda como estaba en el SPARK
+        CanBus.getInstance().configureAsync("Climber (10)", motor, CanBus.Profile.MECHANISM, new SparkMaxConfig(),
+            ResetMode.kNoResetSafeParameters);
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.appliedOutput = motor.getAppliedOutput();
+        inputs.currentAmps = motor.getOutputCurrent();
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        motor.set(output);
+    }
+}
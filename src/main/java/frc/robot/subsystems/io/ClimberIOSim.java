@@ -0,0 +1,35 @@
+package frc.robot.subsystems.io;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+
+/**
+ * Modelo del climber: un motor brushed con mucha reducción.
+ */
+public class ClimberIOSim implements ClimberIO {
+
+    private static final double kGearing = 50.0;
+    private static final double kMomentOfInertia = 0.01;
+    private static final double kLoopPeriod = 0.02;
+
+    private final DCMotorSim sim = new DCMotorSim(
+        LinearSystemId.createDCMotorSystem(DCMotor.getCIM(1), kMomentOfInertia, kGearing), DCMotor.getCIM(1));
+
+    private double output = 0.0;
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        sim.setInputVoltage(output * RobotController.getBatteryVoltage());
+        sim.update(kLoopPeriod);
+
+        inputs.appliedOutput = output;
+        inputs.currentAmps = Math.abs(sim.getCurrentDrawAmps());
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        this.output = output;
+    }
+}
@@ -0,0 +1,47 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Hardware del drivetrain: dos lados con líder y seguidor (CIMs brushed en SPARK MAX).
+ * Distancias en metros, positivo = adelante en los dos lados.
+ */
+public interface DrivetrainIO {
+
+    class Inputs {
+        public double leftAppliedOutput = 0.0;
+        public double rightAppliedOutput = 0.0;
+        public double leftCurrentAmps = 0.0;
+        public double rightCurrentAmps = 0.0;
+        public double leftPositionMeters = 0.0;
+        public double rightPositionMeters = 0.0;
+        public double leftVelocityMetersPerSecond = 0.0;
+        public double rightVelocityMetersPerSecond = 0.0;
+        /** Muestras de posición tomadas desde el loop anterior, de la más vieja a la más nueva */
+        public int odometrySamples = 0;
+        public final double[] odometryTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+        public final double[] odometryLeftPositionMeters = new double[OdometryThread.kMaxSamplesPerLoop];
+        public final double[] odometryRightPositionMeters = new double[OdometryThread.kMaxSamplesPerLoop];
+
+        public void copyFrom(Inputs other) {
+            leftAppliedOutput = other.leftAppliedOutput;
+            rightAppliedOutput = other.rightAppliedOutput;
+            leftCurrentAmps = other.leftCurrentAmps;
+            rightCurrentAmps = other.rightCurrentAmps;
+            leftPositionMeters = other.leftPositionMeters;
+            rightPositionMeters = other.rightPositionMeters;
+            leftVelocityMetersPerSecond = other.leftVelocityMetersPerSecond;
+            rightVelocityMetersPerSecond = other.rightVelocityMetersPerSecond;
+            odometrySamples = other.odometrySamples;
+            System.arraycopy(other.odometryTimestamps, 0, odometryTimestamps, 0, odometrySamples);
+            System.arraycopy(other.odometryLeftPositionMeters, 0, odometryLeftPositionMeters, 0, odometrySamples);
+            System.arraycopy(other.odometryRightPositionMeters, 0, odometryRightPositionMeters, 0, odometrySamples);
+        }
+    }
+
+    default void updateInputs(Inputs inputs) {}
+
+    /**
+     * @param left Duty cycle del lado izquierdo (-1 a 1)
+     * @param right Duty cycle del lado derecho (-1 a 1), positivo = adelante
+     */
+    default void setDutyCycle(double left, double right) {}
+}
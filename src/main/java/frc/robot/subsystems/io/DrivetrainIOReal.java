@@ -0,0 +1,132 @@
+package frc.robot.subsystems.io;
+
+import com.revrobotics.RelativeEncoder;
+import com.revrobotics.spark.SparkBase.ResetMode;
+import com.revrobotics.spark.SparkLowLevel.MotorType;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+import frc.robot.util.FeedforwardGains;
+import frc.robot.util.SampleRing;
+
+/**
+ * Drivetrain con cuatro SPARK MAX brushed: líderes en CAN 1 (izq) y 3 (der),
+ * seguidores en 2 y 4.
+ *
+ * <p>Los encoders son through-bore en el eje de salida de cada caja, conectados al
+ * data port del líder. Con motores brushed el SPARK MAX los lee como su encoder
+ * principal (en cuadratura), así que no hace falta el modo de encoder alternativo.
+ *
+ * <p>Las posiciones las muestrea {@link OdometryThread}; los líderes mandan la posición
+ * cada 5 ms ({@link CanBus.Profile#DRIVE_LEADER}) para que cada muestra traiga un valor
+ * nuevo. Los seguidores mandan todo lento.
+ */
+public class DrivetrainIOReal implements DrivetrainIO {
+
+    // ==================== ENCODERS ====================
+    private static final int kEncoderCountsPerRev = 8192;
+    private static final double kWheelDiameterMeters = 0.1524;   // 6"
+    private static final double kMetersPerRev = Math.PI * kWheelDiameterMeters;
+    // El encoder derecho queda al revés por cómo está montada la caja
+    private static final boolean kLeftEncoderInverted = false;
+    private static final boolean kRightEncoderInverted = true;
+
+    private final SparkMax leftMotorLeader = new SparkMax(1, MotorType.kBrushed);
+    private final SparkMax leftMotorFollower = new SparkMax(2, MotorType.kBrushed);
+    private final SparkMax rightMotorLeader = new SparkMax(3, MotorType.kBrushed);
+    private final SparkMax rightMotorFollower = new SparkMax(4, MotorType.kBrushed);
+    private final RelativeEncoder leftEncoder = leftMotorLeader.getEncoder();
+    private final RelativeEncoder rightEncoder = rightMotorLeader.getEncoder();
+
+    // ==================== ODOMETRÍA ====================
+    private final SampleRing.Reader odometryReader;
+    private final int[] odometryColumns;
+    private final double[] sampleTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+    private final double[][] sampleValues = new double[2][OdometryThread.kMaxSamplesPerLoop];
+
+    public DrivetrainIOReal() {
+        SparkMaxConfig baseConfig = new SparkMaxConfig();
+        SparkMaxConfig leftMotorLeaderConfig = new SparkMaxConfig();
+        SparkMaxConfig leftMotorFollowerConfig = new SparkMaxConfig();
+        SparkMaxConfig rightMotorLeaderConfig = new SparkMaxConfig();
+        SparkMaxConfig rightMotorFollowerConfig = new SparkMaxConfig();
+
+        // Sin rampa: el feedforward de Drivetrain ya pide la aceleración, y una rampa de
+        // lazo cerrado no aplica a duty cycle. Con compensación de voltaje, duty cycle 1
+        // es la tensión nominal con cualquier batería.
+        baseConfig
+            .idleMode(IdleMode.kBrake)
+            .voltageCompensation(FeedforwardGains.kNominalVoltage);
+
+        leftMotorLeaderConfig
+            .apply(baseConfig);
+        leftMotorLeaderConfig.encoder
+            .countsPerRevolution(kEncoderCountsPerRev)
+            .inverted(kLeftEncoderInverted)
+            .positionConversionFactor(kMetersPerRev)
+            .velocityConversionFactor(kMetersPerRev / 60.0);
+
+        leftMotorFollowerConfig
+            .apply(baseConfig)
+            .follow(leftMotorLeader);
+
+        rightMotorLeaderConfig
+            .apply(baseConfig)
+            .inverted(true);
+        rightMotorLeaderConfig.encoder
+            .countsPerRevolution(kEncoderCountsPerRev)
+            .inverted(kRightEncoderInverted)
+            .positionConversionFactor(kMetersPerRev)
+            .velocityConversionFactor(kMetersPerRev / 60.0);
+
+        rightMotorFollowerConfig
+            .apply(baseConfig)
+            .follow(rightMotorLeader);
+
+        // Sin esperar la respuesta de cada SPARK: CanBus verifica después, fuera de robotInit
+        CanBus can = CanBus.getInstance();
+        can.configureAsync("Drive Left Leader (1)", leftMotorLeader, CanBus.Profile.DRIVE_LEADER,
+            leftMotorLeaderConfig, ResetMode.kResetSafeParameters);
+        can.configureAsync("Drive Left Follower (2)", leftMotorFollower, CanBus.Profile.FOLLOWER,
+            leftMotorFollowerConfig, ResetMode.kResetSafeParameters);
+        can.configureAsync("Drive Right Leader (3)", rightMotorLeader, CanBus.Profile.DRIVE_LEADER,
+            rightMotorLeaderConfig, ResetMode.kResetSafeParameters);
+        can.configureAsync("Drive Right Follower (4)", rightMotorFollower, CanBus.Profile.FOLLOWER,
+            rightMotorFollowerConfig, ResetMode.kResetSafeParameters);
+
+        OdometryThread odometry = OdometryThread.getInstance();
+        odometryColumns = new int[] {
+            odometry.registerSignal(leftEncoder::getPosition),
+            odometry.registerSignal(rightEncoder::getPosition)
+        };
+        odometryReader = odometry.newReader();
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.leftAppliedOutput = leftMotorLeader.getAppliedOutput();
+        inputs.rightAppliedOutput = rightMotorLeader.getAppliedOutput();
+        inputs.leftCurrentAmps = leftMotorLeader.getOutputCurrent() + leftMotorFollower.getOutputCurrent();
+        inputs.rightCurrentAmps = rightMotorLeader.getOutputCurrent() + rightMotorFollower.getOutputCurrent();
+        inputs.leftVelocityMetersPerSecond = leftEncoder.getVelocity();
+        inputs.rightVelocityMetersPerSecond = rightEncoder.getVelocity();
+
+        int count = odometryReader.read(sampleTimestamps, odometryColumns, sampleValues);
+        inputs.odometrySamples = count;
+        System.arraycopy(sampleTimestamps, 0, inputs.odometryTimestamps, 0, count);
+        System.arraycopy(sampleValues[0], 0, inputs.odometryLeftPositionMeters, 0, count);
+        System.arraycopy(sampleValues[1], 0, inputs.odometryRightPositionMeters, 0, count);
+        // La posición del loop es la muestra más nueva, la misma que ve la odometría
+        if (count > 0) {
+            inputs.leftPositionMeters = sampleValues[0][count - 1];
+            inputs.rightPositionMeters = sampleValues[1][count - 1];
+        }
+    }
+
+    @Override
+    public void setDutyCycle(double left, double right) {
+        leftMotorLeader.set(left);
+        rightMotorLeader.set(right);
+    }
+}
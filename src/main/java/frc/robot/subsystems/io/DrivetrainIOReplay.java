@@ -0,0 +1,22 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Entradas leídas de un WPILOG grabado. El replay escribe en {@link #getRecorded()}
+ * antes de cada loop; las salidas se ignoran.
+ */
+public class DrivetrainIOReplay implements DrivetrainIO {
+
+    private final Inputs recorded = new Inputs();
+
+    /**
+     * @return Entradas del próximo loop (las escribe el replay)
+     */
+    public Inputs getRecorded() {
+        return recorded;
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.copyFrom(recorded);
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot.subsystems.io;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DifferentialDrivetrainSim;
+import edu.wpi.first.wpilibj.simulation.DifferentialDrivetrainSim.KitbotGearing;
+import edu.wpi.first.wpilibj.simulation.DifferentialDrivetrainSim.KitbotMotor;
+import edu.wpi.first.wpilibj.simulation.DifferentialDrivetrainSim.KitbotWheelSize;
+import frc.robot.util.FeedforwardGains;
+
+/**
+ * Modelo físico del drivetrain: dos CIMs por lado con la caja 8.45:1 y ruedas de 6".
+ * Integra la pose en la cancha, que usan el gyro y la Limelight simulados.
+ */
+public class DrivetrainIOSim implements DrivetrainIO {
+
+    private static final double kLoopPeriod = 0.02;
+
+    private final DifferentialDrivetrainSim sim = DifferentialDrivetrainSim.createKitbotSim(
+        KitbotMotor.kDualCIMPerSide, KitbotGearing.k8p45, KitbotWheelSize.kSixInch, null);
+
+    private double leftOutput = 0.0;
+    private double rightOutput = 0.0;
+    private double yawRate = 0.0;
+
+    public DrivetrainIOSim(Pose2d startPose) {
+        sim.setPose(startPose);
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        // Compensación de voltaje como en los SPARK MAX, hasta lo que dé la batería
+        double battery = RobotController.getBatteryVoltage();
+        double headingBefore = getHeadingDegrees();
+        sim.setInputs(
+            MathUtil.clamp(leftOutput * FeedforwardGains.kNominalVoltage, -battery, battery),
+            MathUtil.clamp(rightOutput * FeedforwardGains.kNominalVoltage, -battery, battery));
+        sim.update(kLoopPeriod);
+        yawRate = (getHeadingDegrees() - headingBefore) / kLoopPeriod;
+
+        inputs.leftAppliedOutput = leftOutput;
+        inputs.rightAppliedOutput = rightOutput;
+        inputs.leftCurrentAmps = sim.getLeftCurrentDrawAmps();
+        inputs.rightCurrentAmps = sim.getRightCurrentDrawAmps();
+        inputs.leftPositionMeters = sim.getLeftPositionMeters();
+        inputs.rightPositionMeters = sim.getRightPositionMeters();
+        inputs.leftVelocityMetersPerSecond = sim.getLeftVelocityMetersPerSecond();
+        inputs.rightVelocityMetersPerSecond = sim.getRightVelocityMetersPerSecond();
+        // Sin thread de odometría: una muestra por loop
+        inputs.odometrySamples = 1;
+        inputs.odometryTimestamps[0] = Timer.getFPGATimestamp();
+        inputs.odometryLeftPositionMeters[0] = inputs.leftPositionMeters;
+        inputs.odometryRightPositionMeters[0] = inputs.rightPositionMeters;
+    }
+
+    @Override
+    public void setDutyCycle(double left, double right) {
+        leftOutput = left;
+        rightOutput = right;
+    }
+
+    public Pose2d getPose() {
+        return sim.getPose();
+    }
+
+    /**
+     * @return Heading continuo (sin normalizar), antihorario positivo como el Pigeon
+     */
+    public double getHeadingDegrees() {
+        return sim.getHeading().getDegrees();
+    }
+
+    public double getYawRateDegreesPerSecond() {
+        return yawRate;
+    }
+}
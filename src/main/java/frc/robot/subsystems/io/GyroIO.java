@@ -0,0 +1,49 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Hardware del gyro (Pigeon 2). Ángulos en grados.
+ */
+public interface GyroIO {
+
+    class Inputs {
+        public boolean connected = false;
+        public double yawDegrees = 0.0;
+        public double pitchDegrees = 0.0;
+        public double rollDegrees = 0.0;
+        public double yawRateDegreesPerSecond = 0.0;
+        /** Tiempo FPGA (s) al que corresponde el yaw */
+        public double timestampSeconds = 0.0;
+        /** Muestras de yaw tomadas desde el loop anterior, de la más vieja a la más nueva */
+        public int odometrySamples = 0;
+        public final double[] odometryTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+        public final double[] odometryYawDegrees = new double[OdometryThread.kMaxSamplesPerLoop];
+
+        public void copyFrom(Inputs other) {
+            connected = other.connected;
+            yawDegrees = other.yawDegrees;
+            pitchDegrees = other.pitchDegrees;
+            rollDegrees = other.rollDegrees;
+            yawRateDegreesPerSecond = other.yawRateDegreesPerSecond;
+            timestampSeconds = other.timestampSeconds;
+            odometrySamples = other.odometrySamples;
+            System.arraycopy(other.odometryTimestamps, 0, odometryTimestamps, 0, odometrySamples);
+            System.arraycopy(other.odometryYawDegrees, 0, odometryYawDegrees, 0, odometrySamples);
+        }
+    }
+
+    default void updateInputs(Inputs inputs) {}
+
+    /**
+     * Pone en {@code inputs} solo el yaw y la velocidad angular más nuevos, sin consumir
+     * muestras de odometría. La llama el grupo de control rápido entre loops.
+     * @return true si hay una muestra (false en simulación y replay)
+     */
+    default boolean updateLatest(Inputs inputs) {
+        return false;
+    }
+
+    /**
+     * Redefine el yaw actual.
+     */
+    default void setYaw(double degrees) {}
+}
@@ -0,0 +1,107 @@
+package frc.robot.subsystems.io;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.hardware.Pigeon2;
+
+import edu.wpi.first.units.measure.Angle;
+import edu.wpi.first.units.measure.AngularVelocity;
+import frc.robot.util.SampleRing;
+
+/**
+ * Pigeon 2 en CAN 0.
+ *
+ * <p>Las señales se piden una sola vez y se refrescan juntas con
+ * {@link BaseStatusSignal#refreshAll}: un solo viaje por loop y todas del mismo
+ * instante. Yaw y velocidad angular van a 250 Hz (heading y odometría), pitch y roll
+ * solo se registran y van a 4 Hz; el resto de las señales del Pigeon se apagan.
+ *
+ * <p>El yaw lo muestrea {@link OdometryThread} a la misma frecuencia con copias propias
+ * de las señales; acá se vacían las muestras nuevas y la más nueva es el yaw del loop.
+ * Entre loops, {@link #updateLatest} lee la última muestra sin consumirla.
+ */
+public class GyroIOReal implements GyroIO {
+
+    private static final double kFastSignalHz = 250.0;
+    private static final double kSlowSignalHz = 4.0;
+
+    private final Pigeon2 pigeon = new Pigeon2(0);
+    private final StatusSignal<Angle> yaw = pigeon.getYaw();
+    private final StatusSignal<AngularVelocity> yawRate = pigeon.getAngularVelocityZWorld();
+    private final StatusSignal<Angle> pitch = pigeon.getPitch();
+    private final StatusSignal<Angle> roll = pigeon.getRoll();
+
+    // ==================== ODOMETRÍA ====================
+    private final SampleRing.Reader odometryReader;
+    private final int[] odometryColumns;
+    private final double[] sampleTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+    private final double[][] sampleValues = new double[1][OdometryThread.kMaxSamplesPerLoop];
+    // [yaw, velocidad angular] para updateLatest
+    private final int[] latestColumns;
+    private final double[] latestValues = new double[2];
+
+    public GyroIOReal() {
+        // Cada llamada espera la respuesta del Pigeon: van en el thread de CanBus, no en
+        // robotInit, con copias propias de las señales
+        CanBus can = CanBus.getInstance();
+        BaseStatusSignal[] fastSignals = {yaw.clone(), yawRate.clone()};
+        BaseStatusSignal[] slowSignals = {pitch.clone(), roll.clone()};
+        can.configureInBackground("Pigeon (0)", () ->
+            BaseStatusSignal.setUpdateFrequencyForAll(kFastSignalHz, fastSignals).isOK()
+                & BaseStatusSignal.setUpdateFrequencyForAll(kSlowSignalHz, slowSignals).isOK()
+                & pigeon.optimizeBusUtilization().isOK()
+                & pigeon.setYaw(0).isOK());
+        // Phoenix manda cada señal en su propia trama
+        can.addLoad("Pigeon (0)", 2 * kFastSignalHz + 2 * kSlowSignalHz);
+
+        // El thread refresca sus copias: una StatusSignal no se comparte entre threads
+        StatusSignal<Angle> sampledYaw = yaw.clone();
+        StatusSignal<AngularVelocity> sampledYawRate = yawRate.clone();
+        OdometryThread odometry = OdometryThread.getInstance();
+        odometry.registerPhoenixSignals(sampledYaw, sampledYawRate);
+        // Yaw extrapolado con la velocidad angular hasta el instante de la muestra
+        int yawColumn = odometry.registerSignal(
+            () -> BaseStatusSignal.getLatencyCompensatedValueAsDouble(sampledYaw, sampledYawRate));
+        int yawRateColumn = odometry.registerSignal(sampledYawRate::getValueAsDouble);
+        odometryColumns = new int[] {yawColumn};
+        latestColumns = new int[] {yawColumn, yawRateColumn};
+        odometryReader = odometry.newReader();
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        StatusCode status = BaseStatusSignal.refreshAll(yawRate, pitch, roll);
+        inputs.connected = status == StatusCode.OK;
+        inputs.pitchDegrees = pitch.getValueAsDouble();
+        inputs.rollDegrees = roll.getValueAsDouble();
+        inputs.yawRateDegreesPerSecond = yawRate.getValueAsDouble();
+
+        int count = odometryReader.read(sampleTimestamps, odometryColumns, sampleValues);
+        inputs.odometrySamples = count;
+        System.arraycopy(sampleTimestamps, 0, inputs.odometryTimestamps, 0, count);
+        System.arraycopy(sampleValues[0], 0, inputs.odometryYawDegrees, 0, count);
+        // Sin muestras nuevas se mantiene el yaw del loop anterior
+        if (count > 0) {
+            inputs.yawDegrees = sampleValues[0][count - 1];
+            inputs.timestampSeconds = sampleTimestamps[count - 1];
+        }
+    }
+
+    @Override
+    public boolean updateLatest(Inputs inputs) {
+        double timestamp = OdometryThread.getInstance().readLatest(latestColumns, latestValues);
+        if (Double.isNaN(timestamp)) {
+            return false;
+        }
+        inputs.yawDegrees = latestValues[0];
+        inputs.yawRateDegreesPerSecond = latestValues[1];
+        inputs.timestampSeconds = timestamp;
+        return true;
+    }
+
+    @Override
+    public void setYaw(double degrees) {
+        pigeon.setYaw(degrees);
+    }
+}
@@ -0,0 +1,44 @@
+package frc.robot.subsystems.io;
+
+import java.util.function.DoubleSupplier;
+
+import edu.wpi.first.wpilibj.Timer;
+
+/**
+ * Gyro simulado: sigue el heading del modelo del drivetrain, con el offset que
+ * deja {@link #setYaw} igual que el Pigeon real.
+ */
+public class GyroIOSim implements GyroIO {
+
+    private final DoubleSupplier headingDegrees;
+    private final DoubleSupplier yawRateDegreesPerSecond;
+    private double offset = 0.0;
+
+    /**
+     * @param headingDegrees Heading real del robot (antihorario positivo)
+     * @param yawRateDegreesPerSecond Velocidad de giro real
+     */
+    public GyroIOSim(DoubleSupplier headingDegrees, DoubleSupplier yawRateDegreesPerSecond) {
+        this.headingDegrees = headingDegrees;
+        this.yawRateDegreesPerSecond = yawRateDegreesPerSecond;
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.connected = true;
+        inputs.yawDegrees = headingDegrees.getAsDouble() + offset;
+        inputs.pitchDegrees = 0.0;
+        inputs.rollDegrees = 0.0;
+        inputs.yawRateDegreesPerSecond = yawRateDegreesPerSecond.getAsDouble();
+        inputs.timestampSeconds = Timer.getFPGATimestamp();
+        // Sin thread de odometría: una muestra por loop
+        inputs.odometrySamples = 1;
+        inputs.odometryTimestamps[0] = inputs.timestampSeconds;
+        inputs.odometryYawDegrees[0] = inputs.yawDegrees;
+    }
+
+    @Override
+    public void setYaw(double degrees) {
+        offset = degrees - headingDegrees.getAsDouble();
+    }
+}
@@ -0,0 +1,25 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Hardware del subsistema IO (intake/shooter): motor1 NEO y motor2 brushed.
+ */
+public interface IntakeIO {
+
+    class Inputs {
+        public double motor1AppliedOutput = 0.0;
+        public double motor2AppliedOutput = 0.0;
+        public double motor1CurrentAmps = 0.0;
+        public double motor2CurrentAmps = 0.0;
+
+        public void copyFrom(Inputs other) {
+            motor1AppliedOutput = other.motor1AppliedOutput;
+            motor2AppliedOutput = other.motor2AppliedOutput;
+            motor1CurrentAmps = other.motor1CurrentAmps;
+            motor2CurrentAmps = other.motor2CurrentAmps;
+        }
+    }
+
+    default void updateInputs(Inputs inputs) {}
+
+    default void setDutyCycle(double motor1, double motor2) {}
+}
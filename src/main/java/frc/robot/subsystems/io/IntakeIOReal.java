@@ -0,0 +1,38 @@
+package frc.robot.subsystems.io;
+
+import com.revrobotics.spark.SparkBase.ResetMode;
+import com.revrobotics.spark.SparkLowLevel.MotorType;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+/**
+ * Intake/shooter: NEO en CAN 7 y motor brushed en CAN 8.
+ */
+public class IntakeIOReal implements IntakeIO {
+
+    private final SparkMax motor1 = new SparkMax(7, MotorType.kBrushless);
+    private final SparkMax motor2 = new SparkMax(8, MotorType.kBrushed);
+
+    public IntakeIOReal() {
+        // Solo cambian los períodos de señales: el resto queda como estaba en el SPARK
+        CanBus can = CanBus.getInstance();
+        can.configureAsync("Intake 1 (7)", motor1, CanBus.Profile.MECHANISM, new SparkMaxConfig(),
+            ResetMode.kNoResetSafeParameters);
+        can.configureAsync("Intake 2 (8)", motor2, CanBus.Profile.MECHANISM, new SparkMaxConfig(),
+            ResetMode.kNoResetSafeParameters);
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.motor1AppliedOutput = motor1.getAppliedOutput();
+        inputs.motor2AppliedOutput = motor2.getAppliedOutput();
+        inputs.motor1CurrentAmps = motor1.getOutputCurrent();
+        inputs.motor2CurrentAmps = motor2.getOutputCurrent();
+    }
+
+    @Override
+    public void setDutyCycle(double motor1Output, double motor2Output) {
+        motor1.set(motor1Output);
+        motor2.set(motor2Output);
+    }
+}
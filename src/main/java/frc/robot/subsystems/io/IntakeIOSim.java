@@ -0,0 +1,43 @@
+package frc.robot.subsystems.io;
+
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+
+/**
+ * Modelo del intake/shooter: dos rodillos libres.
+ */
+public class IntakeIOSim implements IntakeIO {
+
+    private static final double kMomentOfInertia = 0.002; // kg·m² por rodillo
+    private static final double kLoopPeriod = 0.02;
+
+    private final DCMotorSim motor1 = new DCMotorSim(
+        LinearSystemId.createDCMotorSystem(DCMotor.getNEO(1), kMomentOfInertia, 1.0), DCMotor.getNEO(1));
+    private final DCMotorSim motor2 = new DCMotorSim(
+        LinearSystemId.createDCMotorSystem(DCMotor.getCIM(1), kMomentOfInertia, 1.0), DCMotor.getCIM(1));
+
+    private double motor1Output = 0.0;
+    private double motor2Output = 0.0;
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        double battery = RobotController.getBatteryVoltage();
+        motor1.setInputVoltage(motor1Output * battery);
+        motor2.setInputVoltage(motor2Output * battery);
+        motor1.update(kLoopPeriod);
+        motor2.update(kLoopPeriod);
+
+        inputs.motor1AppliedOutput = motor1Output;
+        inputs.motor2AppliedOutput = motor2Output;
+        inputs.motor1CurrentAmps = Math.abs(motor1.getCurrentDrawAmps());
+        inputs.motor2CurrentAmps = Math.abs(motor2.getCurrentDrawAmps());
+    }
+
+    @Override
+    public void setDutyCycle(double motor1Output, double motor2Output) {
+        this.motor1Output = motor1Output;
+        this.motor2Output = motor2Output;
+    }
+}
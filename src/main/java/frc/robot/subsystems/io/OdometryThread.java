@@ -0,0 +1,127 @@
+package frc.robot.subsystems.io;
+
+import java.util.ArrayList;
+import java.util.function.DoubleSupplier;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+
+import edu.wpi.first.wpilibj.Notifier;
+import edu.wpi.first.wpilibj.Threads;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.SampleRing;
+
+/**
+ * Thread que muestrea yaw y encoders a {@code kFrequencyHz}, desacoplado del loop
+ * de 20 ms.
+ *
+ * <p>Las capas IO reales registran sus señales al construirse; cada muestra lleva su
+ * timestamp FPGA y se escribe en un {@link SampleRing}. En updateInputs cada IO vacía
+ * las muestras nuevas en sus Inputs, así el loop principal recibe 4-5 muestras por
+ * ciclo sin esperar ninguna lectura de CAN.
+ *
+ * <p>Las señales de Phoenix que se muestrean acá tienen que ser copias
+ * ({@code StatusSignal.clone()}): este thread las refresca y no se pueden compartir
+ * con el loop principal.
+ */
+public final class OdometryThread {
+
+    public static final double kFrequencyHz = 250.0;
+    /** Máximo de muestras que un IO entrega por loop (20 ms a 250 Hz son 5) */
+    public static final int kMaxSamplesPerLoop = 16;
+    private static final int kMaxSignals = 8;
+    private static final int kRingCapacity = 64;
+    private static final int kThreadPriority = 10;
+
+    private static OdometryThread instance;
+
+    private final ArrayList<DoubleSupplier> signals = new ArrayList<>();
+    private final ArrayList<BaseStatusSignal> phoenixSignals = new ArrayList<>();
+    private BaseStatusSignal[] phoenixToRefresh = new BaseStatusSignal[0];
+    private final double[] row = new double[kMaxSignals];
+    private final SampleRing ring = new SampleRing(kRingCapacity, kMaxSignals);
+    private final Notifier notifier = new Notifier(this::sample);
+    private boolean started = false;
+    private boolean priorityRaised = false;
+
+    private OdometryThread() {
+        notifier.setName("Odometry");
+    }
+
+    public static synchronized OdometryThread getInstance() {
+        if (instance == null) {
+            instance = new OdometryThread();
+        }
+        return instance;
+    }
+
+    /**
+     * Registra una señal a muestrear. Solo antes de {@link #start()}.
+     * @return Columna de la señal en el ring
+     */
+    public int registerSignal(DoubleSupplier signal) {
+        if (started) {
+            throw new IllegalStateException("El thread de odometría ya arrancó");
+        }
+        if (signals.size() == kMaxSignals) {
+            throw new IllegalStateException("Demasiadas señales de odometría (máximo " + kMaxSignals + ")");
+        }
+        signals.add(signal);
+        return signals.size() - 1;
+    }
+
+    /**
+     * Señales de Phoenix que se refrescan juntas antes de cada muestra.
+     */
+    public void registerPhoenixSignals(BaseStatusSignal... statusSignals) {
+        if (started) {
+            throw new IllegalStateException("El thread de odometría ya arrancó");
+        }
+        for (BaseStatusSignal signal : statusSignals) {
+            phoenixSignals.add(signal);
+        }
+    }
+
+    /**
+     * @return Lector propio para vaciar las muestras nuevas en cada loop
+     */
+    public SampleRing.Reader newReader() {
+        return ring.newReader();
+    }
+
+    /**
+     * Muestra más nueva, sin consumirla: la usa el grupo de control rápido entre loops.
+     * @return Timestamp FPGA de la muestra, o NaN si no hay
+     * @see SampleRing#readLatest
+     */
+    public double readLatest(int[] columns, double[] valuesOut) {
+        return ring.readLatest(columns, valuesOut);
+    }
+
+    /**
+     * Arranca el muestreo. Llamar una vez, después de crear todas las capas IO.
+     */
+    public void start() {
+        if (started || signals.isEmpty()) {
+            return;
+        }
+        phoenixToRefresh = phoenixSignals.toArray(new BaseStatusSignal[0]);
+        started = true;
+        notifier.startPeriodic(1.0 / kFrequencyHz);
+    }
+
+    private void sample() {
+        if (!priorityRaised) {
+            // Tiempo real por encima del loop principal: el muestreo no espera al scheduler
+            Threads.setCurrentThreadPriority(true, kThreadPriority);
+            priorityRaised = true;
+        }
+        if (phoenixToRefresh.length > 0) {
+            BaseStatusSignal.refreshAll(phoenixToRefresh);
+        }
+        double timestamp = Timer.getFPGATimestamp();
+        for (int i = 0; i < signals.size(); i++) {
+            row[i] = signals.get(i).getAsDouble();
+        }
+        ring.write(timestamp, row);
+    }
+}
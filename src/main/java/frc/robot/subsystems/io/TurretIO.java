@@ -0,0 +1,47 @@
+package frc.robot.subsystems.io;
+
+/**
+ * Hardware de la torreta: un NEO con encoder relativo y lazo de posición en el SPARK MAX.
+ * Las posiciones son rotaciones de motor (antes de la reducción).
+ */
+public interface TurretIO {
+
+    class Inputs {
+        public double positionRotations = 0.0;
+        public double velocityRpm = 0.0;
+        public double appliedOutput = 0.0;
+        public double currentAmps = 0.0;
+        /** Muestras de posición tomadas desde el loop anterior, de la más vieja a la más nueva */
+        public int odometrySamples = 0;
+        public final double[] odometryTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+        public final double[] odometryPositionRotations = new double[OdometryThread.kMaxSamplesPerLoop];
+
+        public void copyFrom(Inputs other) {
+            positionRotations = other.positionRotations;
+            velocityRpm = other.velocityRpm;
+            appliedOutput = other.appliedOutput;
+            currentAmps = other.currentAmps;
+            odometrySamples = other.odometrySamples;
+            System.arraycopy(other.odometryTimestamps, 0, odometryTimestamps, 0, odometrySamples);
+            System.arraycopy(other.odometryPositionRotations, 0, odometryPositionRotations, 0, odometrySamples);
+        }
+    }
+
+    /**
+     * Lee todos los sensores de la torreta. Se llama una vez por loop.
+     */
+    default void updateInputs(Inputs inputs) {}
+
+    default void setDutyCycle(double output) {}
+
+    /**
+     * Manda un setpoint al lazo de posición del controlador.
+     * @param feedforward Duty cycle que se suma a la salida del lazo (-1 a 1)
+     */
+    default void setPosition(double rotations, double feedforward) {}
+
+    /**
+     * Redefine la posición actual del encoder.
+     */
+    default void resetPosition(double rotations) {}
+}
@@ -0,0 +1,95 @@
+package frc.robot.subsystems.io;
+
+import com.revrobotics.RelativeEncoder;
+import com.revrobotics.spark.SparkBase.ControlType;
+import com.revrobotics.spark.SparkBase.ResetMode;
+import com.revrobotics.spark.ClosedLoopSlot;
+import com.revrobotics.spark.SparkClosedLoopController;
+import com.revrobotics.spark.SparkClosedLoopController.ArbFFUnits;
+import com.revrobotics.spark.SparkLowLevel.MotorType;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SparkBaseConfig.IdleMode;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+import frc.robot.subsystems.Turret;
+import frc.robot.util.FeedforwardGains;
+import frc.robot.util.SampleRing;
+
+/**
+ * Torreta con un NEO en el SPARK MAX de CAN 9. El lazo de posición y los soft limits
+ * corren en el SPARK.
+ *
+ * <p>La posición la muestrea {@link OdometryThread} para compensar la latencia de la
+ * cámara con el ángulo que tenía la torreta en el instante de la captura; el SPARK la
+ * manda cada 5 ms ({@link CanBus.Profile#TURRET}).
+ */
+public class TurretIOReal implements TurretIO {
+
+    private final SparkMax motor = new SparkMax(9, MotorType.kBrushless);
+    private final RelativeEncoder encoder;
+    private final SparkClosedLoopController closedLoop;
+
+    // ==================== ODOMETRÍA ====================
+    private final SampleRing.Reader odometryReader;
+    private final int[] odometryColumns;
+    private final double[] sampleTimestamps = new double[OdometryThread.kMaxSamplesPerLoop];
+    private final double[][] sampleValues = new double[1][OdometryThread.kMaxSamplesPerLoop];
+
+    public TurretIOReal() {
+        SparkMaxConfig config = new SparkMaxConfig();
+        // El feedforward caracterizado está en volts: duty cycle 1 = tensión nominal
+        config
+            .idleMode(IdleMode.kBrake)
+            .voltageCompensation(FeedforwardGains.kNominalVoltage);
+        config.closedLoop
+            .p(Turret.kPositionP)
+            .d(Turret.kPositionD)
+            .outputRange(-Turret.kMaxClosedLoopOutput, Turret.kMaxClosedLoopOutput);
+        // Los límites también aplican en duty cycle: el SPARK corta antes que el RIO
+        config.softLimit
+            .forwardSoftLimit(Turret.MAX_ROTATIONS)
+            .forwardSoftLimitEnabled(true)
+            .reverseSoftLimit(Turret.MIN_ROTATIONS)
+            .reverseSoftLimitEnabled(true);
+        CanBus.getInstance().configureAsync("Turret (9)", motor, CanBus.Profile.TURRET, config,
+            ResetMode.kResetSafeParameters);
+
+        closedLoop = motor.getClosedLoopController();
+        encoder = motor.getEncoder();
+
+        OdometryThread odometry = OdometryThread.getInstance();
+        odometryColumns = new int[] { odometry.registerSignal(encoder::getPosition) };
+        odometryReader = odometry.newReader();
+    }
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        inputs.velocityRpm = encoder.getVelocity();
+        inputs.appliedOutput = motor.getAppliedOutput();
+        inputs.currentAmps = motor.getOutputCurrent();
+
+        int count = odometryReader.read(sampleTimestamps, odometryColumns, sampleValues);
+        inputs.odometrySamples = count;
+        System.arraycopy(sampleTimestamps, 0, inputs.odometryTimestamps, 0, count);
+        System.arraycopy(sampleValues[0], 0, inputs.odometryPositionRotations, 0, count);
+        if (count > 0) {
+            inputs.positionRotations = sampleValues[0][count - 1];
+        }
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        motor.set(output);
+    }
+
+    @Override
+    public void setPosition(double rotations, double feedforward) {
+        closedLoop.setReference(rotations, ControlType.kPosition, ClosedLoopSlot.kSlot0,
+            feedforward, ArbFFUnits.kPercentOut);
+    }
+
+    @Override
+    public void resetPosition(double rotations) {
+        encoder.setPosition(rotations);
+    }
+}
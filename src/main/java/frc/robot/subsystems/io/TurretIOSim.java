@@ -0,0 +1,97 @@
+package frc.robot.subsystems.io;
+
+import edu.wpi.first.math.MathUtil;
+import edu.wpi.first.math.system.plant.DCMotor;
+import edu.wpi.first.math.system.plant.LinearSystemId;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DCMotorSim;
+import frc.robot.subsystems.Turret;
+import frc.robot.util.FeedforwardGains;
+
+/**
+ * Modelo de la torreta: NEO con la reducción GEAR_RATIO sobre una inercia fija.
+ * Emula el lazo P y los soft limits del SPARK MAX. El encoder es relativo: resetear
+ * la posición cambia la lectura, no mueve la torreta.
+ */
+public class TurretIOSim implements TurretIO {
+
+    private static final double kMomentOfInertia = 0.05; // kg·m², torreta completa
+    private static final double kLoopPeriod = 0.02;
+    // El SPARK cierra el lazo a 1 kHz: se integra en pasos de 1 ms
+    private static final int kSubsteps = 20;
+
+    private final DCMotorSim sim = new DCMotorSim(
+        LinearSystemId.createDCMotorSystem(DCMotor.getNEO(1), kMomentOfInertia, Turret.GEAR_RATIO),
+        DCMotor.getNEO(1));
+
+    private boolean positionControl = false;
+    private double dutyCycle = 0.0;
+    private double setpoint = 0.0;
+    private double feedforward = 0.0;
+    private double encoderOffset = 0.0;
+
+    @Override
+    public void updateInputs(Inputs inputs) {
+        double output = 0.0;
+        // Compensación de voltaje como en el SPARK MAX, hasta lo que dé la batería
+        double battery = RobotController.getBatteryVoltage();
+        for (int i = 0; i < kSubsteps; i++) {
+            output = computeOutput(getMotorRotations());
+            sim.setInputVoltage(MathUtil.clamp(output * FeedforwardGains.kNominalVoltage, -battery, battery));
+            sim.update(kLoopPeriod / kSubsteps);
+        }
+
+        inputs.positionRotations = getMotorRotations();
+        inputs.velocityRpm = sim.getAngularVelocityRPM() * Turret.GEAR_RATIO;
+        inputs.appliedOutput = output;
+        inputs.currentAmps = Math.abs(sim.getCurrentDrawAmps());
+        // Sin thread de odometría: una muestra por loop
+        inputs.odometrySamples = 1;
+        inputs.odometryTimestamps[0] = Timer.getFPGATimestamp();
+        inputs.odometryPositionRotations[0] = inputs.positionRotations;
+    }
+
+    private double computeOutput(double position) {
+        double output = dutyCycle;
+        if (positionControl) {
+            // Como el SPARK: el feedforward se suma después de limitar la salida del PID
+            output = MathUtil.clamp(Turret.kPositionP * (setpoint - position),
+                -Turret.kMaxClosedLoopOutput, Turret.kMaxClosedLoopOutput) + feedforward;
+        }
+        // Soft limits: el SPARK no deja seguir empujando hacia afuera
+        if ((output > 0 && position >= Turret.MAX_ROTATIONS) || (output < 0 && position <= Turret.MIN_ROTATIONS)) {
+            output = 0;
+        }
+        return output;
+    }
+
+    private double getMotorRotations() {
+        return sim.getAngularPositionRotations() * Turret.GEAR_RATIO + encoderOffset;
+    }
+    
+    /**
+     * @return Ángulo real de la torreta respecto del chasis (antihorario positivo)
+     */
+    public double getTurretAngleDegrees() {
+        return sim.getAngularPositionRotations() * 360.0;
+    }
+
+    @Override
+    public void setDutyCycle(double output) {
+        positionControl = false;
+        dutyCycle = output;
+    }
+
+    @Override
+    public void setPosition(double rotations, double feedforward) {
+        positionControl = true;
+        setpoint = rotations;
+        this.feedforward = feedforward;
+    }
+
+    @Override
+    public void resetPosition(double rotations) {
+        encoderOffset = rotations - sim.getAngularPositionRotations() * Turret.GEAR_RATIO;
+    }
+}
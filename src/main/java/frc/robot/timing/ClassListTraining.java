@@ -0,0 +1,114 @@
+package frc.robot.timing;
+
+import com.ctre.phoenix6.BaseStatusSignal;
+import com.ctre.phoenix6.StatusCode;
+import com.ctre.phoenix6.StatusSignal;
+import com.ctre.phoenix6.hardware.Pigeon2;
+import com.revrobotics.REVLibError;
+import com.revrobotics.RelativeEncoder;
+import com.revrobotics.spark.ClosedLoopSlot;
+import com.revrobotics.spark.SparkBase;
+import com.revrobotics.spark.SparkClosedLoopController;
+import com.revrobotics.spark.SparkLowLevel;
+import com.revrobotics.spark.SparkMax;
+import com.revrobotics.spark.config.SignalsConfig;
+import com.revrobotics.spark.config.SparkBaseConfig;
+import com.revrobotics.spark.config.SparkMaxConfig;
+
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.simulation.DriverStationSim;
+import frc.robot.subsystems.io.CanBus;
+import frc.robot.subsystems.io.ClimberIOReal;
+import frc.robot.subsystems.io.DrivetrainIOReal;
+import frc.robot.subsystems.io.GyroIOReal;
+import frc.robot.subsystems.io.IntakeIOReal;
+import frc.robot.subsystems.io.OdometryThread;
+import frc.robot.subsystems.io.TurretIOReal;
+
+/**
+ * Corrida de entrenamiento del archivo CDS: en simulación, pasa el robot por un match
+ * corto (deshabilitado, autónomo, teleop con los botones del control) y sale.
+ *
+ * <p>La corre {@code ./gradlew trainClassList} con {@code -XX:DumpLoadedClassList}, así
+ * la lista de clases incluye todo lo que se carga al habilitar y no solo robotInit.
+ * Robot la agrega con addPeriodic cuando está la propiedad {@link #kProperty}.
+ *
+ * <p>La simulación no pasa por las capas IO reales ni por REVLib y Phoenix, que son
+ * justamente lo que más tarda en cargar al arrancar en el roboRIO. Esas clases se cargan
+ * a mano con {@link #loadRealClasses()} para que también entren a la lista.
+ */
+public final class ClassListTraining implements Runnable {
+
+    public static final String kProperty = "robot.cdsTraining";
+
+    private static final double kAutonomousStart = 2.0;
+    private static final double kTeleopStart = 6.0;
+    private static final double kEnd = 12.0;
+    private static final int kAxisCount = 6;
+    private static final int kButtonCount = 10;
+
+    private final double start = Timer.getFPGATimestamp();
+
+    public static boolean isRequested() {
+        return Boolean.getBoolean(kProperty);
+    }
+
+    /**
+     * Carga (sin inicializar) las clases que solo usa el robot real. Cargar una clase
+     * también carga sus superclases e interfaces, así que con las públicas alcanza.
+     * No se inicializan: los static de REVLib y Phoenix cargan sus librerías nativas.
+     */
+    public static void loadRealClasses() {
+        Class<?>[] classes = {
+            // Capas IO reales y lo que solo arranca en el roboRIO
+            DrivetrainIOReal.class, TurretIOReal.class, IntakeIOReal.class, GyroIOReal.class,
+            ClimberIOReal.class, OdometryThread.class, CanBus.class, Warmup.class,
+            // REVLib
+            SparkMax.class, SparkMaxConfig.class, SparkBaseConfig.IdleMode.class, SignalsConfig.class,
+            SparkBase.ControlType.class, SparkBase.PersistMode.class, SparkBase.ResetMode.class,
+            SparkLowLevel.MotorType.class, SparkClosedLoopController.class,
+            SparkClosedLoopController.ArbFFUnits.class, ClosedLoopSlot.class, RelativeEncoder.class,
+            REVLibError.class,
+            // Phoenix 6
+            Pigeon2.class, StatusSignal.class, BaseStatusSignal.class, StatusCode.class,
+        };
+        int loaded = 0;
+        for (Class<?> type : classes) {
+            // El literal ya cargó la clase; getClasses() carga también sus clases anidadas públicas
+            try {
+                loaded += 1 + type.getClasses().length;
+            } catch (LinkageError e) {
+                DriverStation.reportWarning("CDS: no se pudo cargar " + type.getName() + ": " + e, false);
+            }
+        }
+        DriverStation.reportWarning("CDS: " + loaded + " clases del robot real cargadas", false);
+    }
+
+    public ClassListTraining() {
+        DriverStationSim.setDsAttached(true);
+        DriverStationSim.setJoystickAxisCount(0, kAxisCount);
+        DriverStationSim.setJoystickButtonCount(0, kButtonCount);
+    }
+
+    @Override
+    public void run() {
+        double elapsed = Timer.getFPGATimestamp() - start;
+        if (elapsed >= kEnd) {
+            // Los threads del HAL y de NetworkTables no dejan terminar la JVM sola
+            System.exit(0);
+        }
+
+        DriverStationSim.setEnabled(elapsed >= kAutonomousStart);
+        DriverStationSim.setAutonomous(elapsed < kTeleopStart);
+        if (elapsed >= kTeleopStart) {
+            // Un botón por vez y los ejes en movimiento, para pasar por cada binding
+            int second = (int) elapsed;
+            DriverStationSim.setJoystickButtons(0, 1 << (second % kButtonCount));
+            for (int axis = 0; axis < kAxisCount; axis++) {
+                DriverStationSim.setJoystickAxis(0, axis, Math.sin(elapsed + axis));
+            }
+        }
+        DriverStationSim.notifyNewData();
+    }
+}
@@ -0,0 +1,246 @@
+package frc.robot.timing;
+
+import java.util.ArrayList;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.util.datalog.StringLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.RobotController;
+import edu.wpi.first.wpilibj2.command.Command;
+import edu.wpi.first.wpilibj2.command.WrapperCommand;
+
+/**
+ * Mide cada fase del loop con {@link RobotController#getFPGATime()} y publica
+ * p50/p99/máximo por fase en "Timing/&lt;fase&gt;".
+ *
+ * <p>Cada fase se registra una vez y devuelve un índice; medir es guardar un long en
+ * un arreglo, sin asignar memoria. Cada {@code kWindowLoops} loops se publican los
+ * percentiles de la ventana y se empieza una nueva.
+ *
+ * <p>Cuando un loop se pasa de {@code kLoopBudgetMicros}, la culpa es de la fase que
+ * más se pasó de su propia mediana en ese loop (no de la más larga: la más larga suele
+ * ser siempre la misma). Se cuenta en "Timing/&lt;fase&gt;/Overruns" y queda en el WPILOG.
+ * Solo compiten las fases hoja: una fase que contiene a otras ({@link #registerParentPhase},
+ * como el loop o el scheduler) suma el exceso de sus hijas y se llevaría siempre la culpa.
+ *
+ * <p>Un loop también se atrasa sin pasarse: si empieza más de {@code kLateStartMicros} tarde
+ * respecto del anterior (fase "Period", de comienzo a comienzo) y el anterior no se pasó,
+ * lo demoró algo que corrió entre los dos, es decir un grupo de frecuencia
+ * ({@link RateGroup}). La culpa se busca igual, entre las fases que corrieron entre loops.
+ */
+public final class LoopProfiler {
+
+    private static final long kLoopBudgetMicros = 20000;
+    private static final long kLateStartMicros = 1000;
+    private static final int kWindowLoops = 50;   // 1 s a 50 Hz
+
+    private static LoopProfiler instance;
+
+    private final NetworkTable table = NetworkTableInstance.getDefault().getTable("Timing");
+    private final ArrayList<Phase> phases = new ArrayList<>();
+    private final StringLogEntry overrunPhaseLog;
+    /** [duración del loop o período (us), duración de la fase culpable (us), su mediana (us)] */
+    private final DoubleArrayLogEntry overrunLog;
+    private final double[] overrunRecord = new double[3];
+
+    private final int loopPhase;
+    private final int periodPhase;
+    private long loopStart = 0;
+    private long lastLoopStart = 0;
+    private long lastLoopMicros = 0;
+    private int windowLoops = 0;
+
+    private LoopProfiler() {
+        overrunPhaseLog = new StringLogEntry(DataLogManager.getLog(), "/Timing/OverrunPhase");
+        overrunLog = new DoubleArrayLogEntry(DataLogManager.getLog(), "/Timing/Overrun");
+        loopPhase = registerParentPhase("Loop");
+        periodPhase = registerParentPhase("Period");
+    }
+
+    public static synchronized LoopProfiler getInstance() {
+        if (instance == null) {
+            instance = new LoopProfiler();
+        }
+        return instance;
+    }
+
+    /**
+     * Registra una fase. Llamar al construir, nunca dentro del loop.
+     * @return Índice para {@link #record}
+     */
+    public int registerPhase(String name) {
+        return addPhase(name, true);
+    }
+
+    /**
+     * Registra una fase que contiene a otras fases medidas. Se mide y se publica igual,
+     * pero no se le atribuyen overruns.
+     * @return Índice para {@link #record}
+     */
+    public int registerParentPhase(String name) {
+        return addPhase(name, false);
+    }
+
+    private int addPhase(String name, boolean attributable) {
+        phases.add(new Phase(name, table.getSubTable(name), attributable));
+        return phases.size() - 1;
+    }
+
+    /**
+     * Guarda la duración de una fase en este loop. Si una fase corre varias veces
+     * por loop se acumula.
+     */
+    public void record(int phase, long micros) {
+        Phase p = phases.get(phase);
+        p.current += micros;
+        p.ranThisLoop = true;
+    }
+
+    /**
+     * @return Timestamp para pasarle a {@link #end}
+     */
+    public static long start() {
+        return RobotController.getFPGATime();
+    }
+
+    /**
+     * Registra el tiempo desde {@code startMicros} hasta ahora.
+     */
+    public void end(int phase, long startMicros) {
+        record(phase, RobotController.getFPGATime() - startMicros);
+    }
+
+    /**
+     * Marca el comienzo de un loop. Llamar al principio de loopFunc, antes que nada del loop.
+     */
+    public void beginLoop() {
+        loopStart = RobotController.getFPGATime();
+        if (lastLoopStart != 0) {
+            long periodMicros = loopStart - lastLoopStart;
+            record(periodPhase, periodMicros);
+            // Hasta acá solo corrieron (y compiten) las fases de entre loops
+            if (periodMicros > kLoopBudgetMicros + kLateStartMicros && lastLoopMicros <= kLoopBudgetMicros) {
+                attributeOverrun(periodMicros);
+            }
+        }
+        lastLoopStart = loopStart;
+    }
+
+    /**
+     * Cierra el loop: vuelca cada fase a su histograma, atribuye el overrun si lo hubo
+     * y publica la ventana si se completó. Llamar al final de loopFunc.
+     */
+    public void endLoop() {
+        long loopMicros = RobotController.getFPGATime() - loopStart;
+        lastLoopMicros = loopMicros;
+        record(loopPhase, loopMicros);
+
+        if (loopMicros > kLoopBudgetMicros) {
+            attributeOverrun(loopMicros);
+        }
+
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            if (p.ranThisLoop) {
+                p.histogram.record(p.current);
+                p.current = 0;
+                p.ranThisLoop = false;
+            }
+        }
+
+        if (++windowLoops >= kWindowLoops) {
+            for (int i = 0; i < phases.size(); i++) {
+                phases.get(i).publish();
+            }
+            windowLoops = 0;
+        }
+    }
+
+    private void attributeOverrun(long overrunMicros) {
+        Phase culprit = null;
+        long worstExcess = Long.MIN_VALUE;
+        for (int i = 0; i < phases.size(); i++) {
+            Phase p = phases.get(i);
+            if (!p.ranThisLoop || !p.attributable) {
+                continue;
+            }
+            long excess = p.current - p.median;
+            if (excess > worstExcess) {
+                worstExcess = excess;
+                culprit = p;
+            }
+        }
+        if (culprit == null) {
+            return;
+        }
+        culprit.overruns++;
+        culprit.overrunPub.set(culprit.overruns);
+        overrunPhaseLog.append(culprit.name);
+        overrunRecord[0] = overrunMicros;
+        overrunRecord[1] = culprit.current;
+        overrunRecord[2] = culprit.median;
+        overrunLog.append(overrunRecord);
+    }
+
+    /**
+     * @return Duración (us) del último loop cerrado con {@link #endLoop()}
+     */
+    public long getLastLoopMicros() {
+        return lastLoopMicros;
+    }
+
+    /**
+     * Envuelve un comando para medir su execute() como una fase propia
+     * ("Command/&lt;nombre&gt;").
+     */
+    public Command profile(Command command) {
+        int phase = registerPhase("Command/" + command.getName());
+        return new WrapperCommand(command) {
+            @Override
+            public void execute() {
+                long start = start();
+                m_command.execute();
+                LoopProfiler.this.end(phase, start);
+            }
+        };
+    }
+
+    private static final class Phase {
+        final String name;
+        /** false si contiene a otras fases (ver {@link LoopProfiler#registerParentPhase}) */
+        final boolean attributable;
+        final PhaseHistogram histogram = new PhaseHistogram();
+        final DoublePublisher p50Pub;
+        final DoublePublisher p99Pub;
+        final DoublePublisher maxPub;
+        final IntegerPublisher overrunPub;
+        long current = 0;
+        boolean ranThisLoop = false;
+        long median = 0;   // de la ventana anterior, para atribuir overruns
+        long overruns = 0;
+
+        Phase(String name, NetworkTable table, boolean attributable) {
+            this.name = name;
+            this.attributable = attributable;
+            p50Pub = table.getDoubleTopic("p50 (us)").publish();
+            p99Pub = table.getDoubleTopic("p99 (us)").publish();
+            maxPub = table.getDoubleTopic("Max (us)").publish();
+            overrunPub = table.getIntegerTopic("Overruns").publish();
+        }
+
+        void publish() {
+            if (histogram.getCount() == 0) {
+                return;
+            }
+            median = histogram.percentile(0.5);
+            p50Pub.set(median);
+            p99Pub.set(histogram.percentile(0.99));
+            maxPub.set(histogram.getMax());
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package frc.robot.timing;
+
+import java.util.Arrays;
+
+/**
+ * Histograma de duraciones con buckets fijos, sin asignar memoria al registrar.
+ *
+ * <p>Hasta 2 ms los buckets son de 10 us (ahí viven casi todas las fases); de 2 ms a
+ * 50 ms son de 250 us. Lo que pase de 50 ms cae en el último bucket. Los percentiles
+ * devuelven el borde superior del bucket, así que nunca subestiman.
+ */
+public class PhaseHistogram {
+
+    private static final int kFineWidth = 10;
+    private static final int kFineLimit = 2000;
+    private static final int kCoarseWidth = 250;
+    private static final int kCoarseLimit = 50000;
+    private static final int kFineBuckets = kFineLimit / kFineWidth;
+    private static final int kBuckets = kFineBuckets + (kCoarseLimit - kFineLimit) / kCoarseWidth + 1;
+
+    private final int[] counts = new int[kBuckets];
+    private int total = 0;
+    private long max = 0;
+
+    public void record(long micros) {
+        counts[bucketFor(micros)]++;
+        total++;
+        if (micros > max) {
+            max = micros;
+        }
+    }
+
+    private static int bucketFor(long micros) {
+        if (micros < kFineLimit) {
+            return (int) Math.max(0, micros / kFineWidth);
+        }
+        if (micros < kCoarseLimit) {
+            return kFineBuckets + (int) ((micros - kFineLimit) / kCoarseWidth);
+        }
+        return kBuckets - 1;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < kFineBuckets) {
+            return (bucket + 1L) * kFineWidth;
+        }
+        if (bucket < kBuckets - 1) {
+            return kFineLimit + (bucket - kFineBuckets + 1L) * kCoarseWidth;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * @param fraction 0.5 = mediana, 0.99 = p99
+     * @return Duración (us) por debajo de la cual cae esa fracción de las muestras, 0 si no hay
+     */
+    public long percentile(double fraction) {
+        if (total == 0) {
+            return 0;
+        }
+        long needed = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < kBuckets; i++) {
+            seen += counts[i];
+            if (seen >= needed) {
+                // El último bucket no tiene borde: usar el máximo real
+                return Math.min(upperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public int getCount() {
+        return total;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        max = 0;
+    }
+}
@@ -0,0 +1,118 @@
+package frc.robot.timing;
+
+import java.util.ArrayList;
+
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.IntegerPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Tareas que corren juntas a una misma frecuencia, fuera del loop principal.
+ *
+ * <p>Robot registra cada grupo con {@code addPeriodic(grupo, período, desfase)}. El desfase
+ * es fijo y distinto para cada grupo, así dos grupos nunca caen en el mismo instante y
+ * ninguno cae encima del loop principal (desfase 0).
+ *
+ * <p>Cada grupo mide su propia duración como {@link LoopProfiler} mide las fases: publica
+ * p50/p99/máximo en "Timing/Rate/&lt;nombre&gt;" cada segundo, y cuenta como overrun cada
+ * pasada que dura más que su período. Además suma su duración en una fase de
+ * {@link LoopProfiler} ("Groups/&lt;nombre&gt;"), para que un loop principal que arranca tarde
+ * pueda culpar al grupo que lo demoró.
+ */
+public final class RateGroup implements Runnable {
+
+    private final String name;
+    private final double periodSeconds;
+    private final double offsetSeconds;
+    private final long periodMicros;
+    private final int windowRuns;
+    private final ArrayList<Runnable> tasks = new ArrayList<>();
+
+    private final PhaseHistogram histogram = new PhaseHistogram();
+    private final DoublePublisher p50Pub;
+    private final DoublePublisher p99Pub;
+    private final DoublePublisher maxPub;
+    private final IntegerPublisher overrunPub;
+    private int runs = 0;
+    private long overruns = 0;
+    private LoopProfiler profiler;
+    private int profilerPhase;
+
+    /**
+     * @param periodSeconds Período del grupo
+     * @param offsetSeconds Desfase respecto del comienzo del loop principal
+     */
+    public RateGroup(String name, double periodSeconds, double offsetSeconds) {
+        this.name = name;
+        this.periodSeconds = periodSeconds;
+        this.offsetSeconds = offsetSeconds;
+        periodMicros = (long) (periodSeconds * 1e6);
+        // La ventana dura 1 s como la de LoopProfiler
+        windowRuns = Math.max(1, (int) Math.round(1.0 / periodSeconds));
+
+        NetworkTable table = NetworkTableInstance.getDefault().getTable("Timing").getSubTable("Rate").getSubTable(name);
+        table.getDoubleTopic("Period (ms)").publish().set(periodSeconds * 1000.0);
+        p50Pub = table.getDoubleTopic("p50 (us)").publish();
+        p99Pub = table.getDoubleTopic("p99 (us)").publish();
+        maxPub = table.getDoubleTopic("Max (us)").publish();
+        overrunPub = table.getIntegerTopic("Overruns").publish();
+    }
+
+    /**
+     * Agrega una tarea al grupo. Las tareas corren en el orden en que se agregan.
+     * Llamar al construir, nunca dentro del loop.
+     */
+    public void add(Runnable task) {
+        tasks.add(task);
+    }
+
+    /**
+     * Registra la fase del grupo en el profiler. Llamar en robotInit, después de que
+     * arranca el log.
+     */
+    public void profileWith(LoopProfiler loopProfiler) {
+        profilerPhase = loopProfiler.registerPhase("Groups/" + name);
+        profiler = loopProfiler;
+    }
+
+    @Override
+    public void run() {
+        long start = RobotController.getFPGATime();
+        for (int i = 0; i < tasks.size(); i++) {
+            tasks.get(i).run();
+        }
+        long micros = RobotController.getFPGATime() - start;
+        histogram.record(micros);
+        if (profiler != null) {
+            profiler.record(profilerPhase, micros);
+        }
+        if (micros > periodMicros) {
+            overruns++;
+            overrunPub.set(overruns);
+        }
+
+        if (++runs >= windowRuns) {
+            runs = 0;
+            if (histogram.getCount() > 0) {
+                p50Pub.set(histogram.percentile(0.5));
+                p99Pub.set(histogram.percentile(0.99));
+                maxPub.set(histogram.getMax());
+                histogram.reset();
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getPeriodSeconds() {
+        return periodSeconds;
+    }
+
+    public double getOffsetSeconds() {
+        return offsetSeconds;
+    }
+}
@@ -0,0 +1,103 @@
+package frc.robot.timing;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.RobotBase;
+import edu.wpi.first.wpilibj.RobotController;
+
+/**
+ * Mide cuánto tarda el robot en quedar listo y cuánto duran los primeros loops
+ * habilitados, para ver el efecto del archivo CDS y del {@link Warmup}.
+ *
+ * <p>Al terminar robotInit se registra el tiempo desde que arrancó el roboRIO
+ * ({@code /proc/uptime}), desde que arrancó la JVM, lo que tardó robotInit y si la JVM
+ * cargó las clases del archivo CDS. Después se guardan los primeros
+ * {@code kFirstLoops} loops habilitados. Todo va al WPILOG, a "Startup/..." y a la
+ * consola del DS.
+ */
+public final class StartupReport {
+
+    private static final int kFirstLoops = 10;
+
+    private final NetworkTable table = NetworkTableInstance.getDefault().getTable("Startup");
+    /** [uptime del roboRIO (s), uptime de la JVM (s), robotInit (s), CDS (1/0)] */
+    private final DoubleArrayLogEntry readyLog;
+    /** Duración (ms) de cada uno de los primeros loops habilitados */
+    private final DoubleArrayLogEntry firstLoopsLog;
+    private final double[] firstLoops = new double[kFirstLoops];
+    private int recordedLoops = 0;
+
+    /**
+     * Crear después de {@code MatchLogger.start()}.
+     */
+    public StartupReport() {
+        readyLog = new DoubleArrayLogEntry(DataLogManager.getLog(), "/Startup/Ready");
+        firstLoopsLog = new DoubleArrayLogEntry(DataLogManager.getLog(), "/Startup/FirstLoops");
+    }
+
+    /**
+     * Llamar al final de robotInit.
+     * @param robotInitStartMicros Tiempo FPGA al empezar robotInit
+     */
+    public void robotReady(long robotInitStartMicros) {
+        double systemUptime = RobotBase.isReal() ? readSystemUptime() : Double.NaN;
+        double jvmUptime = ProcessHandle.current().info().startInstant()
+            .map(start -> Duration.between(start, Instant.now()).toMillis() / 1000.0)
+            .orElse(Double.NaN);
+        double robotInit = (RobotController.getFPGATime() - robotInitStartMicros) / 1e6;
+        // La JVM agrega "sharing" a java.vm.info cuando usa un archivo CDS
+        boolean sharing = System.getProperty("java.vm.info", "").contains("sharing");
+
+        readyLog.append(new double[] {systemUptime, jvmUptime, robotInit, sharing ? 1 : 0});
+        table.getDoubleTopic("System Uptime (s)").publish().set(systemUptime);
+        table.getDoubleTopic("JVM Uptime (s)").publish().set(jvmUptime);
+        table.getDoubleTopic("Robot Init (s)").publish().set(robotInit);
+        table.getBooleanTopic("CDS").publish().set(sharing);
+        DriverStation.reportWarning(String.format(
+            "Listo: %.1f s desde el arranque del roboRIO, %.1f s desde la JVM, robotInit %.2f s, CDS %s",
+            systemUptime, jvmUptime, robotInit, sharing ? "sí" : "no"), false);
+    }
+
+    private static double readSystemUptime() {
+        try {
+            return Double.parseDouble(Files.readString(Path.of("/proc/uptime")).split(" ")[0]);
+        } catch (IOException | NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Llamar al final de cada loop. Solo cuenta los primeros loops habilitados.
+     */
+    public void loopFinished(long loopMicros) {
+        if (recordedLoops >= kFirstLoops || !DriverStation.isEnabled()) {
+            return;
+        }
+        firstLoops[recordedLoops++] = loopMicros / 1000.0;
+        if (recordedLoops < kFirstLoops) {
+            return;
+        }
+
+        double max = 0.0;
+        double sum = 0.0;
+        for (double loop : firstLoops) {
+            max = Math.max(max, loop);
+            sum += loop;
+        }
+        firstLoopsLog.append(firstLoops);
+        table.getDoubleTopic("First Loop (ms)").publish().set(firstLoops[0]);
+        table.getDoubleTopic("First Loops Max (ms)").publish().set(max);
+        DriverStation.reportWarning(String.format(
+            "Primeros %d loops habilitados: primero %.1f ms, máx %.1f ms, promedio %.1f ms",
+            kFirstLoops, firstLoops[0], max, sum / kFirstLoops), false);
+    }
+}
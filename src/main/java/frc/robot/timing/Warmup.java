@@ -0,0 +1,177 @@
+package frc.robot.timing;
+
+import java.io.OutputStream;
+import java.util.Collection;
+
+import edu.wpi.first.math.controller.LTVUnicycleController;
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.math.estimator.DifferentialDrivePoseEstimator;
+import edu.wpi.first.math.geometry.Pose2d;
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+import edu.wpi.first.math.kinematics.ChassisSpeeds;
+import edu.wpi.first.networktables.DoubleArrayPublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DataLogWriter;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.drive.DifferentialDrive;
+import frc.robot.autonomous.CompiledTrajectory;
+import frc.robot.localization.GoalAim;
+import frc.robot.subsystems.Drivetrain;
+import frc.robot.subsystems.Turret;
+import frc.robot.util.HeadingProfile;
+import frc.robot.util.SampleRing;
+import frc.robot.util.TimestampedBuffer;
+import frc.robot.vision.LimelightClient;
+import frc.robot.vision.TurretAimEstimator;
+import frc.robot.vision.TurretCameraMount;
+
+/**
+ * Calienta el JIT mientras el robot está deshabilitado, para que los primeros loops
+ * habilitados no corran interpretados.
+ *
+ * <p>Corre en un thread de prioridad mínima la matemática de los caminos calientes con
+ * objetos propios: seguimiento de trayectorias, estimador de pose, historiales, el ring
+ * de odometría, la geometría de la torreta y el arcade, el perfil del auto-turn
+ * ({@link HeadingProfile}), el apuntado por pose ({@link GoalAim}) y la lectura de la
+ * Limelight hasta el ángulo compensado ({@link LimelightClient} y
+ * {@link TurretAimEstimator}, sobre una instancia de NetworkTables propia y un log que
+ * descarta todo). El JIT compila por método, no por objeto, así que el código que después
+ * usan los subsistemas ya llega compilado. No toca hardware ni ningún estado del robot,
+ * y se corta apenas se habilita.
+ *
+ * <p>Lo que queda afuera está atado a los subsistemas: el cuerpo de los comandos (por
+ * ejemplo TurretTrackingCommand.execute, que llama a todo lo de arriba) y MatchLogger.
+ * MatchLogger.log y la lectura de la Limelight del robot corren igual en cada loop
+ * deshabilitado, así que además los compila el propio loop.
+ */
+public final class Warmup implements Runnable {
+
+    // Por encima del umbral de C2 (unas 10000 invocaciones)
+    private static final int kIterations = 20000;
+    private static final double kDt = 0.004;
+    private static final int kTag = 1;
+    private static final double kGoalX = 4.0;
+    private static final double kGoalY = 5.5;
+    private static final Transform2d kTrackingError = new Transform2d(0.05, -0.03, Rotation2d.fromDegrees(2.0));
+
+    private final CompiledTrajectory[] trajectories;
+    private final CompiledTrajectory.Sample reference = new CompiledTrajectory.Sample();
+    private final LTVUnicycleController controller = new LTVUnicycleController(0.02);
+    private final DifferentialDrivePoseEstimator estimator = new DifferentialDrivePoseEstimator(
+        Drivetrain.kKinematics, Rotation2d.kZero, 0.0, 0.0, Pose2d.kZero);
+    private final TimestampedBuffer history = new TimestampedBuffer(250);
+    private final SampleRing ring = new SampleRing(64, 2);
+    private final SampleRing.Reader reader = ring.newReader();
+    private final double[] row = new double[2];
+    private final int[] columns = {0, 1};
+    private final double[] readTimestamps = new double[16];
+    private final double[][] readValues = new double[2][16];
+    private final PhaseHistogram histogram = new PhaseHistogram();
+    private final HeadingProfile turnProfile = new HeadingProfile(360.0, 720.0);
+    private final SimpleMotorFeedforward feedforward = new SimpleMotorFeedforward(0.1, 2.0, 0.1, 0.02);
+    private final TimestampedBuffer yawHistory = new TimestampedBuffer(250);
+    private final TurretAimEstimator aimEstimator = new TurretAimEstimator(yawHistory::getAt);
+    // Mismo formato que publica la Limelight: [valid, count, tl, cl, tx, ty, txnc, tync, ta, tid]
+    private final double[] t2d = {1, 1, 20, 10, 0, 0, 0, 0, 1, kTag};
+    // Se arman en el thread del warm-up, no en robotInit
+    private DoubleArrayPublisher t2dPublisher;
+    private LimelightClient limelight;
+    // Se publica al final para que el JIT no descarte los cálculos
+    private volatile double sink = 0.0;
+
+    private Warmup(Collection<CompiledTrajectory> trajectories) {
+        this.trajectories = trajectories.toArray(new CompiledTrajectory[0]);
+    }
+
+    /**
+     * Arranca el warm-up en su propio thread. Solo en el robot real.
+     */
+    public static void start(Collection<CompiledTrajectory> trajectories) {
+        Thread thread = new Thread(new Warmup(trajectories), "Warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        int iterations = 0;
+        double accumulator = 0.0;
+        // NetworkTables y log propios: nada de esto llega al dashboard ni al WPILOG del match
+        try (NetworkTableInstance nt = NetworkTableInstance.create();
+                DataLog log = new DataLogWriter(OutputStream.nullOutputStream())) {
+            NetworkTable table = nt.getTable("limelight");
+            t2dPublisher = table.getDoubleArrayTopic("t2d").publish();
+            limelight = new LimelightClient(table, log);
+            while (iterations < kIterations && !DriverStation.isEnabled()) {
+                accumulator += step(iterations);
+                iterations++;
+            }
+        }
+        sink = accumulator;
+        DriverStation.reportWarning(String.format("Warm-up: %d iteraciones en %.0f ms%s", iterations,
+            (System.nanoTime() - start) / 1e6, iterations < kIterations ? " (cortado al habilitar)" : ""), false);
+    }
+
+    private double step(int i) {
+        double t = i * kDt;
+        double result = 0.0;
+
+        // ==================== TRAYECTORIAS ====================
+        if (trajectories.length > 0) {
+            CompiledTrajectory trajectory = trajectories[i % trajectories.length];
+            trajectory.sample(t % trajectory.getTotalTimeSeconds(), reference);
+            Pose2d referencePose = new Pose2d(reference.x, reference.y, Rotation2d.fromRadians(reference.headingRadians));
+            ChassisSpeeds speeds = controller.calculate(referencePose.transformBy(kTrackingError), referencePose,
+                reference.velocityMetersPerSecond, reference.angularVelocityRadiansPerSecond);
+            result += Drivetrain.kKinematics.toWheelSpeeds(speeds).leftMetersPerSecond;
+        }
+
+        // ==================== ODOMETRÍA ====================
+        double yaw = 90.0 * Math.sin(t);
+        double distance = 0.5 * t;
+        row[0] = yaw;
+        row[1] = distance;
+        ring.write(t, row);
+        int count = reader.read(readTimestamps, columns, readValues);
+        history.add(t, yaw);
+        result += count + history.getAt(t - kDt / 2);
+        Pose2d pose = estimator.updateWithTime(t, Rotation2d.fromDegrees(yaw), distance, distance);
+        if (i % 5 == 0) {
+            estimator.addVisionMeasurement(pose, t - 0.03);
+        }
+
+        // ==================== AUTO-TURN ====================
+        if (turnProfile.isFinished()) {
+            turnProfile.reset(yaw, 0.0, yaw + 90.0 * Math.signum(Math.sin(7.0 * t) + 0.5));
+        }
+        result += turnProfile.step(kDt) + turnProfile.getSetpoint();
+
+        // ==================== LIMELIGHT ====================
+        yawHistory.add(t, yaw);
+        aimEstimator.addTurretSample(t, yaw * 2.0);
+        if (i % 5 == 0) {
+            t2d[4] = 10.0 * Math.sin(t);
+            // NetworkTables toma el timestamp 0 como "ahora"
+            t2dPublisher.set(t2d, (long) (t * 1e6) + 1);
+        }
+        limelight.update();
+        aimEstimator.update(limelight, kTag);
+        result += aimEstimator.getTargetAngleDegrees(yaw);
+
+        // ==================== TORRETA Y ARCADE ====================
+        result += GoalAim.turretAngleDegrees(pose, kGoalX, kGoalY);
+        result += GoalAim.turretVelocityDegreesPerSecond(pose, yaw, distance, kGoalX, kGoalY);
+        result += feedforward.calculate(yaw);
+        result += Turret.nearestReachableAngle(yaw * 4.0, yaw);
+        result += TurretCameraMount.robotToCamera(yaw).getX();
+        DifferentialDrive.WheelSpeeds wheels = DifferentialDrive.arcadeDriveIK(Math.sin(t), Math.cos(t), true);
+        result += wheels.left - wheels.right;
+        histogram.record(i % 3000);
+        return result;
+    }
+}
@@ -0,0 +1,83 @@
+package frc.robot.util;
+
+import java.io.File;
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import edu.wpi.first.math.controller.SimpleMotorFeedforward;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Filesystem;
+
+/**
+ * Gains de feedforward de un mecanismo, caracterizados con SysId.
+ *
+ * <p>Cada mecanismo tiene un archivo {@code deploy/characterization/<nombre>.json} con lo
+ * que devuelve el análisis de SysId:
+ * <pre>
+ * {
+ *   "kS": 0.2,    (V)
+ *   "kV": 2.4,    (V por unidad/s)
+ *   "kA": 0.3,    (V por unidad/s²)
+ *   "kP": 1.0     (V por unidad/s de error, opcional)
+ * }
+ * </pre>
+ * Las unidades son las que registra la rutina de SysId del mecanismo. Un gain que falta
+ * queda en su valor por defecto; si el archivo no está o es inválido se avisa y se usan
+ * todos los valores por defecto.
+ *
+ * <p>Los gains van en volts: los controladores usan compensación de voltaje a
+ * {@link #kNominalVoltage}, así que un duty cycle es siempre la misma tensión en el motor
+ * sin importar la batería.
+ */
+public final class FeedforwardGains {
+
+    /** Tensión de la compensación de voltaje de los SPARK MAX: duty cycle 1 = 12 V */
+    public static final double kNominalVoltage = 12.0;
+
+    private static final String kDirectory = "characterization";
+    private static final String kExtension = ".json";
+
+    public final double kS;
+    public final double kV;
+    public final double kA;
+    public final double kP;
+
+    public FeedforwardGains(double kS, double kV, double kA, double kP) {
+        this.kS = kS;
+        this.kV = kV;
+        this.kA = kA;
+        this.kP = kP;
+    }
+
+    /**
+     * Lee los gains de un mecanismo. Llamar en robotInit, no en el loop.
+     * @param defaults Valores para los gains que no están en el archivo
+     */
+    public static FeedforwardGains load(String name, FeedforwardGains defaults) {
+        File file = new File(new File(Filesystem.getDeployDirectory(), kDirectory), name + kExtension);
+        if (!file.isFile()) {
+            DriverStation.reportWarning("Sin caracterización de " + name + ": se usan los gains por defecto", false);
+            return defaults;
+        }
+        try {
+            JsonNode node = new ObjectMapper().readTree(file);
+            return new FeedforwardGains(
+                node.path("kS").asDouble(defaults.kS),
+                node.path("kV").asDouble(defaults.kV),
+                node.path("kA").asDouble(defaults.kA),
+                node.path("kP").asDouble(defaults.kP));
+        } catch (IOException | RuntimeException e) {
+            DriverStation.reportError("Caracterización " + file.getName() + " inválida: " + e.getMessage(), false);
+            return defaults;
+        }
+    }
+
+    /**
+     * @param periodSeconds Período del loop que usa el feedforward (para el término kA)
+     */
+    public SimpleMotorFeedforward toFeedforward(double periodSeconds) {
+        return new SimpleMotorFeedforward(kS, kV, kA, periodSeconds);
+    }
+}
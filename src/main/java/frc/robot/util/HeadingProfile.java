@@ -0,0 +1,86 @@
+package frc.robot.util;
+
+import edu.wpi.first.math.MathUtil;
+
+/**
+ * Perfil trapezoidal de un heading, avanzado paso a paso desde el estado actual.
+ *
+ * <p>Es solo matemática sobre dos doubles: no toca hardware ni el log, así que el
+ * {@link frc.robot.timing.Warmup} puede correr su propia instancia y el auto-turn del
+ * {@link frc.robot.subsystems.Gyro} llega compilado al primer loop habilitado.
+ */
+public final class HeadingProfile {
+
+    private final double maxVelocity;
+    private final double maxAcceleration;
+
+    private double goal = 0.0;
+    private double setpoint = 0.0;
+    private double setpointRate = 0.0;
+
+    /**
+     * @param maxVelocity Velocidad máxima (grados/s)
+     * @param maxAcceleration Aceleración máxima (grados/s²)
+     */
+    public HeadingProfile(double maxVelocity, double maxAcceleration) {
+        this.maxVelocity = maxVelocity;
+        this.maxAcceleration = maxAcceleration;
+    }
+
+    /**
+     * Arranca un perfil nuevo desde el estado actual: si ya venía girando no hay salto.
+     */
+    public void reset(double heading, double headingRate, double goalHeading) {
+        goal = goalHeading;
+        setpoint = heading;
+        setpointRate = headingRate;
+    }
+
+    /**
+     * Avanza el setpoint dt segundos hacia el objetivo.
+     * @return Aceleración del setpoint en este paso (grados/s²)
+     */
+    public double step(double dt) {
+        if (dt <= 0.0) {
+            return 0.0;
+        }
+        double remaining = goal - setpoint;
+        // La velocidad más alta con la que todavía se frena justo en el objetivo
+        double stoppingVelocity = Math.sqrt(2.0 * maxAcceleration * Math.abs(remaining));
+        double desiredVelocity = Math.copySign(Math.min(maxVelocity, stoppingVelocity), remaining);
+        double maxChange = maxAcceleration * dt;
+        double velocity = MathUtil.clamp(desiredVelocity, setpointRate - maxChange, setpointRate + maxChange);
+        double acceleration = (velocity - setpointRate) / dt;
+
+        setpoint += (setpointRate + velocity) * 0.5 * dt;
+        setpointRate = velocity;
+
+        // Llegó (o se pasó por discretizar): el perfil queda en el objetivo
+        double after = goal - setpoint;
+        if (after == 0.0 || Math.signum(after) != Math.signum(remaining)
+                || Math.abs(after) < 0.5 * maxChange * dt) {
+            setpoint = goal;
+            setpointRate = 0.0;
+        }
+        return acceleration;
+    }
+
+    /**
+     * @return true si el setpoint llegó al objetivo y está quieto
+     */
+    public boolean isFinished() {
+        return setpoint == goal && setpointRate == 0.0;
+    }
+
+    public double getGoal() {
+        return goal;
+    }
+
+    public double getSetpoint() {
+        return setpoint;
+    }
+
+    public double getSetpointRate() {
+        return setpointRate;
+    }
+}
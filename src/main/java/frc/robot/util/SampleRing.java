@@ -0,0 +1,125 @@
+package frc.robot.util;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer circular de muestras (timestamp + varias columnas) con un solo escritor y
+ * lectores sin locks.
+ *
+ * <p>El escritor llena el slot y recién después publica el número de secuencia; cada
+ * {@link Reader} lleva su propia posición, así varios lectores consumen las mismas
+ * muestras sin molestarse. Si un lector se atrasa más que la capacidad, las muestras
+ * que el escritor pudo haber pisado mientras se copiaban se descartan en vez de
+ * devolverse mezcladas.
+ */
+public class SampleRing {
+
+    private final int capacity;
+    private final double[] timestamps;
+    private final double[][] values;   // [slot][columna]
+    // Cantidad de muestras publicadas; la muestra n vive en el slot n % capacity
+    private final AtomicLong written = new AtomicLong(0);
+
+    public SampleRing(int capacity, int columns) {
+        this.capacity = capacity;
+        timestamps = new double[capacity];
+        values = new double[capacity][columns];
+    }
+
+    /**
+     * Agrega una muestra. Solo la puede llamar un thread.
+     * @param row Un valor por columna (se copian)
+     */
+    public void write(double timestampSeconds, double[] row) {
+        long sequence = written.get();
+        int slot = (int) (sequence % capacity);
+        // La secuencia anterior se tiene que ver antes que los datos que pisan el slot:
+        // así un lector que copió datos pisados lo detecta al releer la secuencia
+        VarHandle.storeStoreFence();
+        timestamps[slot] = timestampSeconds;
+        System.arraycopy(row, 0, values[slot], 0, values[slot].length);
+        // Release: quien vea la secuencia nueva ve el slot completo
+        written.lazySet(sequence + 1);
+    }
+
+    /**
+     * Copia la muestra más nueva sin mover a ningún lector.
+     * @param columns Columnas a leer
+     * @param valuesOut Un valor por columna pedida
+     * @return Timestamp de la muestra, o NaN si todavía no hay ninguna o el escritor la pisó
+     */
+    public double readLatest(int[] columns, double[] valuesOut) {
+        long end = written.get();
+        if (end == 0) {
+            return Double.NaN;
+        }
+        long sequence = end - 1;
+        int slot = (int) (sequence % capacity);
+        double timestamp = timestamps[slot];
+        for (int c = 0; c < columns.length; c++) {
+            valuesOut[c] = values[slot][columns[c]];
+        }
+        // Mismo criterio que Reader.read: si el escritor dio la vuelta, la copia está mezclada.
+        // El fence evita que las lecturas de arriba se reordenen después de la validación.
+        VarHandle.acquireFence();
+        if (written.get() - capacity + 1 > sequence) {
+            return Double.NaN;
+        }
+        return timestamp;
+    }
+
+    /**
+     * @return Lector que arranca en la próxima muestra que se escriba
+     */
+    public Reader newReader() {
+        return new Reader(written.get());
+    }
+
+    /**
+     * Posición de lectura de un consumidor. No es thread-safe: un lector por thread.
+     */
+    public final class Reader {
+        private long next;
+
+        private Reader(long next) {
+            this.next = next;
+        }
+
+        /**
+         * Copia las muestras nuevas desde la última lectura, de la más vieja a la más nueva.
+         * Si hay más que el largo de los arreglos, se quedan las más nuevas.
+         * @param timestampsOut Timestamps de las muestras
+         * @param columns Columnas a leer
+         * @param valuesOut Un arreglo por columna pedida
+         * @return Cantidad de muestras copiadas
+         */
+        public int read(double[] timestampsOut, int[] columns, double[][] valuesOut) {
+            long end = written.get();
+            long start = Math.max(next, Math.max(end - capacity, end - timestampsOut.length));
+            int count = (int) (end - start);
+            for (int i = 0; i < count; i++) {
+                int slot = (int) ((start + i) % capacity);
+                timestampsOut[i] = timestamps[slot];
+                for (int c = 0; c < columns.length; c++) {
+                    valuesOut[c][i] = values[slot][columns[c]];
+                }
+            }
+            next = end;
+
+            // El escritor pudo haber pisado los slots más viejos mientras se copiaban.
+            // El fence evita que las copias se reordenen después de releer la secuencia.
+            VarHandle.acquireFence();
+            long firstIntact = written.get() - capacity + 1;
+            int dropped = (int) Math.max(0, Math.min(count, firstIntact - start));
+            if (dropped > 0) {
+                count -= dropped;
+                System.arraycopy(timestampsOut, dropped, timestampsOut, 0, count);
+                for (int c = 0; c < columns.length; c++) {
+                    System.arraycopy(valuesOut[c], dropped, valuesOut[c], 0, count);
+                }
+            }
+            return count;
+        }
+    }
+}
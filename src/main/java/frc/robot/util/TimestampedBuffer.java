@@ -0,0 +1,105 @@
+package frc.robot.util;
+
+/**
+ * Buffer circular de tamaño fijo con pares (timestamp, valor) en arreglos primitivos.
+ *
+ * <p>Permite consultar el valor que tenía una señal en un instante pasado
+ * (interpolando linealmente) sin generar basura. Los timestamps deben agregarse
+ * en orden creciente.
+ */
+public class TimestampedBuffer {
+
+    private final double[] timestamps;
+    private final double[] values;
+    private int head = 0;   // próxima posición a escribir
+    private int size = 0;
+
+    public TimestampedBuffer(int capacity) {
+        timestamps = new double[capacity];
+        values = new double[capacity];
+    }
+
+    /**
+     * Agrega una muestra. Si el timestamp no es mayor al último se ignora.
+     */
+    public void add(double timestampSeconds, double value) {
+        if (size > 0 && timestampSeconds <= timestamps[index(size - 1)]) {
+            return;
+        }
+        timestamps[head] = timestampSeconds;
+        values[head] = value;
+        head = (head + 1) % timestamps.length;
+        if (size < timestamps.length) {
+            size++;
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return Valor interpolado en el instante pedido. Fuera del rango guardado
+     *         devuelve la muestra más cercana. NaN si el buffer está vacío.
+     */
+    public double getAt(double timestampSeconds) {
+        if (size == 0) {
+            return Double.NaN;
+        }
+        if (timestampSeconds <= timestamps[index(0)]) {
+            return values[index(0)];
+        }
+        int newest = index(size - 1);
+        if (timestampSeconds >= timestamps[newest]) {
+            return values[newest];
+        }
+
+        // Búsqueda binaria sobre los índices lógicos (0 = más viejo)
+        int lo = 0;
+        int hi = size - 1;
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+            if (timestamps[index(mid)] <= timestampSeconds) {
+                lo = mid;
+            } else {
+                hi = mid;
+            }
+        }
+
+        int a = index(lo);
+        int b = index(hi);
+        double t = (timestampSeconds - timestamps[a]) / (timestamps[b] - timestamps[a]);
+        return values[a] + (values[b] - values[a]) * t;
+    }
+
+    /**
+     * @return Timestamp de la muestra más nueva, o NaN si está vacío
+     */
+    public double getLatestTimestamp() {
+        return size == 0 ? Double.NaN : timestamps[index(size - 1)];
+    }
+
+    /**
+     * @return Valor de la muestra más nueva, o NaN si está vacío
+     */
+    public double getLatestValue() {
+        return size == 0 ? Double.NaN : values[index(size - 1)];
+    }
+
+    private int index(int logical) {
+        int start = head - size;
+        if (start < 0) {
+            start += timestamps.length;
+        }
+        return (start + logical) % timestamps.length;
+    }
+}
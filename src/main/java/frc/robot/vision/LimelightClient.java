@@ -0,0 +1,174 @@
+package frc.robot.vision;
+
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+import edu.wpi.first.networktables.DoubleSubscriber;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.PubSubOption;
+import edu.wpi.first.networktables.TimestampedDouble;
+import edu.wpi.first.networktables.TimestampedDoubleArray;
+import edu.wpi.first.util.datalog.DataLog;
+import edu.wpi.first.util.datalog.DoubleArrayLogEntry;
+import edu.wpi.first.wpilibj.DataLogManager;
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.logging.MatchLogger;
+
+/**
+ * Cliente de la Limelight basado en subscribers de NetworkTables.
+ *
+ * <p>Lee tx/tv/tid/tl/cl como un solo snapshot atómico usando el arreglo {@code t2d}
+ * (todos los valores vienen del mismo frame). Si la cámara no publica {@code t2d}
+ * se usan los topics individuales, emparejados con el frame de {@code tx}.
+ *
+ * <p>Llamar {@link #update()} una vez por loop; después {@link #getLatest()} y
+ * {@link #getFrame(int)} no generan basura.
+ *
+ * <p>Cada frame leído se graba en formato t2d con su timestamp de NetworkTables
+ * ({@link MatchLogger#LIMELIGHT_FRAMES}), así el replay republica todos los frames del
+ * loop y no solo el último.
+ */
+public class LimelightClient {
+
+    // ==================== CONSTANTES ====================
+    private static final int kQueueDepth = 16;
+    private static final double kStaleTimeout = 0.5;
+
+    // Índices dentro de t2d
+    private static final int T2D_VALID = 0;
+    private static final int T2D_PIPELINE_LATENCY = 2;
+    private static final int T2D_CAPTURE_LATENCY = 3;
+    private static final int T2D_COUNT = 1;
+    private static final int T2D_TX = 4;
+    private static final int T2D_TID = 9;
+    private static final int T2D_MIN_LENGTH = T2D_TID + 1;
+
+    // ==================== SUBSCRIBERS ====================
+    private final DoubleArraySubscriber t2dSub;
+    private final DoubleSubscriber txSub;
+    private final DoubleSubscriber tvSub;
+    private final DoubleSubscriber tidSub;
+    private final DoubleSubscriber tlSub;
+    private final DoubleSubscriber clSub;
+
+    // ==================== ESTADO ====================
+    private final VisionSample latest = new VisionSample();
+    private final VisionSample[] frames = new VisionSample[kQueueDepth];
+    private int frameCount = 0;
+    private double lastFrameTime = 0.0;
+    private final DoubleArrayLogEntry framesLog;
+    // Frame armado desde los topics individuales, en formato t2d para el log
+    private final double[] t2dRecord = new double[T2D_MIN_LENGTH];
+
+    public LimelightClient(String tableName) {
+        this(NetworkTableInstance.getDefault().getTable(tableName), DataLogManager.getLog());
+    }
+
+    /**
+     * @param table Tabla de la cámara (el warm-up usa una de su propia instancia de NT)
+     * @param log Log donde se graban los frames leídos
+     */
+    public LimelightClient(NetworkTable table, DataLog log) {
+        PubSubOption[] options = {
+            PubSubOption.keepDuplicates(true),
+            PubSubOption.pollStorage(kQueueDepth)
+        };
+
+        t2dSub = table.getDoubleArrayTopic("t2d").subscribe(new double[0], options);
+        txSub = table.getDoubleTopic("tx").subscribe(0.0, options);
+        tvSub = table.getDoubleTopic("tv").subscribe(0.0);
+        tidSub = table.getDoubleTopic("tid").subscribe(-1.0);
+        tlSub = table.getDoubleTopic("tl").subscribe(0.0);
+        clSub = table.getDoubleTopic("cl").subscribe(0.0);
+
+        for (int i = 0; i < kQueueDepth; i++) {
+            frames[i] = new VisionSample();
+        }
+        framesLog = new DoubleArrayLogEntry(log, MatchLogger.LIMELIGHT_FRAMES);
+    }
+
+    /**
+     * Lee todos los frames recibidos desde el loop anterior.
+     * Llamar una sola vez por loop, antes de usar la visión.
+     */
+    public void update() {
+        frameCount = 0;
+
+        TimestampedDoubleArray[] t2dQueue = t2dSub.readQueue();
+        if (t2dQueue.length > 0) {
+            for (TimestampedDoubleArray frame : t2dQueue) {
+                double[] v = frame.value;
+                if (v.length < T2D_MIN_LENGTH) {
+                    continue;
+                }
+                framesLog.append(v, frame.timestamp);
+                nextFrame().set(
+                    frame.timestamp / 1e6,
+                    v[T2D_VALID] == 1,
+                    v[T2D_TX],
+                    (int) v[T2D_TID],
+                    v[T2D_PIPELINE_LATENCY],
+                    v[T2D_CAPTURE_LATENCY]);
+            }
+            // Vaciar la cola de tx para que no se acumule mientras t2d esté disponible
+            txSub.readQueue();
+        } else {
+            for (TimestampedDouble frame : txSub.readQueue()) {
+                t2dRecord[T2D_VALID] = tvSub.get();
+                t2dRecord[T2D_COUNT] = t2dRecord[T2D_VALID];
+                t2dRecord[T2D_PIPELINE_LATENCY] = tlSub.get();
+                t2dRecord[T2D_CAPTURE_LATENCY] = clSub.get();
+                t2dRecord[T2D_TX] = frame.value;
+                t2dRecord[T2D_TID] = tidSub.get();
+                framesLog.append(t2dRecord, frame.timestamp);
+                nextFrame().set(
+                    frame.timestamp / 1e6,
+                    t2dRecord[T2D_VALID] == 1,
+                    frame.value,
+                    (int) t2dRecord[T2D_TID],
+                    t2dRecord[T2D_PIPELINE_LATENCY],
+                    t2dRecord[T2D_CAPTURE_LATENCY]);
+            }
+        }
+
+        double now = Timer.getFPGATimestamp();
+        if (frameCount > 0) {
+            latest.copyFrom(frames[frameCount - 1]);
+            lastFrameTime = now;
+        } else if (now - lastFrameTime > kStaleTimeout) {
+            // Cámara desconectada o congelada: no confiar en el último valor
+            latest.invalidate();
+        }
+    }
+
+    private VisionSample nextFrame() {
+        if (frameCount == kQueueDepth) {
+            // Cola llena: descartar el frame más viejo
+            VisionSample oldest = frames[0];
+            System.arraycopy(frames, 1, frames, 0, kQueueDepth - 1);
+            frames[kQueueDepth - 1] = oldest;
+            frameCount--;
+        }
+        return frames[frameCount++];
+    }
+
+    /**
+     * @return Último frame recibido (snapshot atómico)
+     */
+    public VisionSample getLatest() {
+        return latest;
+    }
+
+    /**
+     * @return Cantidad de frames recibidos en el último {@link #update()}
+     */
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * @param index 0 = más viejo, {@link #getFrameCount()} - 1 = más nuevo
+     */
+    public VisionSample getFrame(int index) {
+        return frames[index];
+    }
+}
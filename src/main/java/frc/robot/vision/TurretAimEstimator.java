@@ -0,0 +1,105 @@
+package frc.robot.vision;
+
+import java.util.function.DoubleUnaryOperator;
+
+import edu.wpi.first.wpilibj.Timer;
+import frc.robot.util.TimestampedBuffer;
+
+/**
+ * Estima el ángulo de la torreta que apunta al tag, compensando la latencia de la
+ * cámara (tl + cl).
+ *
+ * <p>Cuando llega un frame, la torreta y el chasis ya se movieron desde que se capturó
+ * la imagen. Por eso se busca qué ángulo tenía la torreta y qué yaw tenía el chasis en
+ * el instante de captura: yaw + torreta - tx es la dirección del tag en la cancha
+ * (antihorario positivo, como el Pigeon). Para apuntar se le resta el yaw actual, así
+ * el resultado no depende de cuánto giraron la torreta ni el chasis después.
+ */
+public class TurretAimEstimator {
+
+    // ==================== CONSTANTES ====================
+    private static final int kHistorySize = 250;         // 1 s a 250 Hz
+    private static final double kTargetTimeout = 0.25;   // s sin frames válidos antes de perder el target
+
+    // ==================== ESTADO ====================
+    private final TimestampedBuffer turretHistory = new TimestampedBuffer(kHistorySize);
+    private final DoubleUnaryOperator yawAt;
+    private double targetFieldAngle = 0.0;
+    private double targetTimestamp = Double.NEGATIVE_INFINITY;
+    private int targetTagId = -1;
+    // Los frames capturados antes de un reset del yaw tienen el offset viejo
+    private double minCaptureTimestamp = Double.NEGATIVE_INFINITY;
+
+    /**
+     * @param yawAt Yaw del chasis (grados) en un instante FPGA del último segundo
+     */
+    public TurretAimEstimator(DoubleUnaryOperator yawAt) {
+        this.yawAt = yawAt;
+    }
+
+    /**
+     * Guarda una muestra del ángulo de la torreta. Las muestras que no son más nuevas
+     * que la última se ignoran.
+     */
+    public void addTurretSample(double timestampSeconds, double angleDegrees) {
+        turretHistory.add(timestampSeconds, angleDegrees);
+    }
+
+    /**
+     * Procesa los frames nuevos de la Limelight y actualiza la dirección del tag.
+     * @param limelight Cliente ya actualizado este loop
+     * @param tagId Tag que se debe seguir
+     */
+    public void update(LimelightClient limelight, int tagId) {
+        // La dirección guardada es la de otro tag: no sirve para el nuevo
+        if (tagId != targetTagId) {
+            targetTagId = tagId;
+            targetTimestamp = Double.NEGATIVE_INFINITY;
+        }
+        if (turretHistory.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < limelight.getFrameCount(); i++) {
+            VisionSample frame = limelight.getFrame(i);
+            double capture = frame.getTimestampSeconds();
+            if (!frame.hasTarget(tagId) || capture <= targetTimestamp || capture < minCaptureTimestamp) {
+                continue;
+            }
+            double turretAtCapture = turretHistory.getAt(capture);
+            targetFieldAngle = yawAt.applyAsDouble(capture) + turretAtCapture - frame.getTx();
+            targetTimestamp = capture;
+        }
+    }
+
+    /**
+     * @return true si hubo un frame válido del tag hace menos de {@code kTargetTimeout}
+     */
+    public boolean hasTarget() {
+        return Timer.getFPGATimestamp() - targetTimestamp < kTargetTimeout;
+    }
+
+    /**
+     * @param currentYawDegrees Yaw actual del chasis
+     * @return Ángulo de torreta (grados) que centra el tag con el chasis en ese yaw
+     */
+    public double getTargetAngleDegrees(double currentYawDegrees) {
+        return targetFieldAngle - currentYawDegrees;
+    }
+
+    /**
+     * Olvida el target actual (por ejemplo al resetear el home de la torreta).
+     */
+    public void reset() {
+        turretHistory.clear();
+        targetTimestamp = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Llamar al redefinir el yaw: la dirección guardada queda en el sistema viejo, así que
+     * se descarta junto con los frames capturados antes del reset.
+     */
+    public void onYawReset(double timestampSeconds) {
+        targetTimestamp = Double.NEGATIVE_INFINITY;
+        minCaptureTimestamp = timestampSeconds;
+    }
+}
@@ -0,0 +1,38 @@
+package frc.robot.vision;
+
+import edu.wpi.first.math.geometry.Rotation2d;
+import edu.wpi.first.math.geometry.Transform2d;
+
+/**
+ * Posición de la Limelight respecto del robot. La cámara gira con la torreta, así
+ * que la transformación depende del ángulo de la torreta en el momento de la captura.
+ *
+ * <p>En la Limelight la pose de la cámara respecto del robot se deja en cero: así
+ * {@code botpose_wpiblue} es la pose de la cámara en la cancha y la pose del robot se
+ * calcula acá con el ángulo de la torreta de ese frame.
+ */
+public final class TurretCameraMount {
+
+    // ==================== GEOMETRÍA (medida en el robot) ====================
+    /** Eje de la torreta respecto del centro del robot, adelante positivo */
+    public static final double kPivotX = 0.0;
+    /** Eje de la torreta respecto del centro del robot, izquierda positivo */
+    public static final double kPivotY = 0.0;
+    /** Distancia del eje de la torreta al lente, hacia donde mira la cámara */
+    public static final double kCameraRadius = 0.12;
+
+    private TurretCameraMount() {
+    }
+
+    /**
+     * @param turretAngleDegrees Ángulo de la torreta respecto del chasis (antihorario positivo)
+     * @return Transformación del centro del robot a la cámara
+     */
+    public static Transform2d robotToCamera(double turretAngleDegrees) {
+        double angle = Math.toRadians(turretAngleDegrees);
+        return new Transform2d(
+            kPivotX + kCameraRadius * Math.cos(angle),
+            kPivotY + kCameraRadius * Math.sin(angle),
+            Rotation2d.fromRadians(angle));
+    }
+}
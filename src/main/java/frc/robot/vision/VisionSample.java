@@ -0,0 +1,85 @@
+package frc.robot.vision;
+
+/**
+ * Una lectura atómica de la Limelight (tx/tv/tid/tl/cl del mismo frame).
+ *
+ * <p>Es mutable y se reutiliza entre loops para no generar basura: no guardar
+ * referencias de un ciclo al siguiente, copiar con {@link #copyFrom} si hace falta.
+ */
+public final class VisionSample {
+
+    private double timestampSeconds = 0.0;
+    private boolean valid = false;
+    private double tx = 0.0;
+    private int tid = -1;
+    private double pipelineLatencyMs = 0.0;
+    private double captureLatencyMs = 0.0;
+
+    void set(double publishTimestampSeconds, boolean valid, double tx, int tid,
+            double pipelineLatencyMs, double captureLatencyMs) {
+        this.timestampSeconds = publishTimestampSeconds - (pipelineLatencyMs + captureLatencyMs) / 1000.0;
+        this.valid = valid;
+        this.tx = tx;
+        this.tid = tid;
+        this.pipelineLatencyMs = pipelineLatencyMs;
+        this.captureLatencyMs = captureLatencyMs;
+    }
+
+    void invalidate() {
+        valid = false;
+        tid = -1;
+    }
+
+    public void copyFrom(VisionSample other) {
+        timestampSeconds = other.timestampSeconds;
+        valid = other.valid;
+        tx = other.tx;
+        tid = other.tid;
+        pipelineLatencyMs = other.pipelineLatencyMs;
+        captureLatencyMs = other.captureLatencyMs;
+    }
+
+    /**
+     * @return Tiempo FPGA (s) en el que se capturó la imagen (ya descontadas tl + cl)
+     */
+    public double getTimestampSeconds() {
+        return timestampSeconds;
+    }
+
+    /**
+     * @return true si la cámara ve algún target (tv == 1)
+     */
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * @return true si se ve el tag indicado
+     */
+    public boolean hasTarget(int tagId) {
+        return valid && tid == tagId;
+    }
+
+    public double getTx() {
+        return tx;
+    }
+
+    public int getTid() {
+        return tid;
+    }
+
+    public double getPipelineLatencyMs() {
+        return pipelineLatencyMs;
+    }
+
+    public double getCaptureLatencyMs() {
+        return captureLatencyMs;
+    }
+
+    /**
+     * @return Latencia total (tl + cl) en segundos
+     */
+    public double getTotalLatencySeconds() {
+        return (pipelineLatencyMs + captureLatencyMs) / 1000.0;
+    }
+}
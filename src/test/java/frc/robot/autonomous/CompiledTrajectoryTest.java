@@ -0,0 +1,81 @@
+package frc.robot.autonomous;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.math.trajectory.Trajectory;
+
+class CompiledTrajectoryTest {
+
+    private static final File kPaths = new File("src/main/deploy/paths");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void roundTripsEveryDeployPath() throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        File[] paths = kPaths.listFiles((dir, name) -> name.endsWith(AutoPaths.kPathExtension));
+        assertTrue(paths != null && paths.length > 0);
+        for (File path : paths) {
+            CompiledTrajectory compiled = TrajectoryCompiler.compile(path, mapper);
+            Path file = tempDir.resolve(AutoPaths.nameOf(path) + CompiledTrajectory.kExtension);
+            compiled.write(file);
+            CompiledTrajectory read = CompiledTrajectory.read(file);
+
+            assertEquals(compiled.getTotalTimeSeconds(), read.getTotalTimeSeconds(), 0.0);
+            CompiledTrajectory.Sample expected = new CompiledTrajectory.Sample();
+            CompiledTrajectory.Sample actual = new CompiledTrajectory.Sample();
+            for (double t = 0.0; t <= compiled.getTotalTimeSeconds() + 0.1; t += 0.02) {
+                compiled.sample(t, expected);
+                read.sample(t, actual);
+                // El binario guarda los doubles tal cual: tiene que dar exacto
+                assertEquals(expected.x, actual.x, 0.0);
+                assertEquals(expected.y, actual.y, 0.0);
+                assertEquals(expected.headingRadians, actual.headingRadians, 0.0);
+                assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond, 0.0);
+                assertEquals(expected.accelerationMetersPerSecondSq, actual.accelerationMetersPerSecondSq, 0.0);
+                assertEquals(expected.angularVelocityRadiansPerSecond, actual.angularVelocityRadiansPerSecond, 0.0);
+            }
+        }
+    }
+
+    @Test
+    void matchesTheGeneratedStates() throws IOException {
+        File path = new File(kPaths, "Taxi" + AutoPaths.kPathExtension);
+        Trajectory trajectory = AutoPaths.generate(new ObjectMapper().readTree(path));
+        Path file = tempDir.resolve("Taxi" + CompiledTrajectory.kExtension);
+        TrajectoryCompiler.compile(path, new ObjectMapper()).write(file);
+        CompiledTrajectory read = CompiledTrajectory.read(file);
+
+        assertEquals(trajectory.getTotalTimeSeconds(), read.getTotalTimeSeconds(), 1e-9);
+        CompiledTrajectory.Sample sample = new CompiledTrajectory.Sample();
+        for (Trajectory.State state : trajectory.getStates()) {
+            read.sample(state.timeSeconds, sample);
+            assertEquals(state.poseMeters.getX(), sample.x, 1e-9);
+            assertEquals(state.poseMeters.getY(), sample.y, 1e-9);
+            assertEquals(state.velocityMetersPerSecond, sample.velocityMetersPerSecond, 1e-9);
+        }
+    }
+
+    @Test
+    void rejectsTruncatedFiles() throws IOException {
+        Path file = tempDir.resolve("Taxi" + CompiledTrajectory.kExtension);
+        TrajectoryCompiler.compile(new File(kPaths, "Taxi" + AutoPaths.kPathExtension), new ObjectMapper()).write(file);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - Double.BYTES));
+        assertThrows(IOException.class, () -> CompiledTrajectory.read(file));
+    }
+}
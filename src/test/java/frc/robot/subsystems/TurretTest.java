@@ -0,0 +1,44 @@
+package frc.robot.subsystems;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TurretTest {
+
+    // Límites de apuntado: ±1 vuelta menos el margen de 5°
+    private static final double kLimit = 355.0;
+
+    @Test
+    void choosesTheEquivalentClosestToTheCurrentAngle() {
+        assertEquals(-10.0, Turret.nearestReachableAngle(350.0, 0.0), 1e-9);
+        assertEquals(350.0, Turret.nearestReachableAngle(-10.0, 300.0), 1e-9);
+        assertEquals(0.0, Turret.nearestReachableAngle(720.0, 100.0), 1e-9);
+    }
+
+    @Test
+    void reachesExactlyTheLimits() {
+        assertEquals(kLimit, Turret.nearestReachableAngle(kLimit, 350.0), 1e-9);
+        assertEquals(-5.0, Turret.nearestReachableAngle(kLimit, -300.0), 1e-9);
+        assertEquals(-kLimit, Turret.nearestReachableAngle(-kLimit, -350.0), 1e-9);
+        assertEquals(5.0, Turret.nearestReachableAngle(-kLimit, 300.0), 1e-9);
+    }
+
+    @Test
+    void neverGoesPastTheLimits() {
+        // Justo afuera de los límites solo queda el equivalente del otro lado
+        assertEquals(-4.0, Turret.nearestReachableAngle(356.0, 354.0), 1e-9);
+        assertEquals(4.0, Turret.nearestReachableAngle(-356.0, -354.0), 1e-9);
+
+        for (double target = -1080.0; target <= 1080.0; target += 0.5) {
+            for (double current = -kLimit; current <= kLimit; current += 35.5) {
+                double angle = Turret.nearestReachableAngle(target, current);
+                assertTrue(angle >= -kLimit - 1e-9 && angle <= kLimit + 1e-9,
+                    "target " + target + " desde " + current + " dio " + angle);
+                double turns = (angle - target) / 360.0;
+                assertEquals(Math.rint(turns), turns, 1e-9);
+            }
+        }
+    }
+}
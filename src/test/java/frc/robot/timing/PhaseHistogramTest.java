@@ -0,0 +1,59 @@
+package frc.robot.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class PhaseHistogramTest {
+
+    @Test
+    void emptyHistogramReturnsZero() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        assertEquals(0L, histogram.percentile(0.5));
+        assertEquals(0L, histogram.getMax());
+    }
+
+    @Test
+    void percentilesUseTheUpperBoundOfFineBuckets() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        // Una muestra en el medio de cada bucket de 10 us: 5, 15, ..., 995
+        for (int i = 0; i < 100; i++) {
+            histogram.record(i * 10L + 5);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(500L, histogram.percentile(0.5));
+        assertEquals(990L, histogram.percentile(0.99));
+        assertEquals(995L, histogram.percentile(1.0));
+        assertEquals(995L, histogram.getMax());
+    }
+
+    @Test
+    void coarseBucketsNeverUnderestimate() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        histogram.record(100);
+        histogram.record(10100);
+        // Bucket de 250 us [10000, 10250): el borde superior queda limitado por el máximo
+        assertEquals(10100L, histogram.percentile(0.99));
+        histogram.record(20000);
+        assertEquals(10250L, histogram.percentile(0.6));
+    }
+
+    @Test
+    void samplesPastTheLastBucketReportTheMax() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        histogram.record(60000);
+        histogram.record(80000);
+        assertEquals(80000L, histogram.percentile(0.5));
+        assertEquals(80000L, histogram.percentile(0.99));
+    }
+
+    @Test
+    void resetClearsEverything() {
+        PhaseHistogram histogram = new PhaseHistogram();
+        histogram.record(1234);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0L, histogram.percentile(0.99));
+        assertEquals(0L, histogram.getMax());
+    }
+}
@@ -0,0 +1,96 @@
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SampleRingTest {
+
+    private static final int kCapacity = 4;
+    private static final int[] kColumns = {0, 1};
+
+    private final SampleRing ring = new SampleRing(kCapacity, 2);
+    private final double[] timestamps = new double[16];
+    private final double[][] values = new double[2][16];
+
+    private void write(int n) {
+        // Columna 0 = n, columna 1 = -n: así se nota si se mezclan columnas
+        ring.write(n * 0.004, new double[] {n, -n});
+    }
+
+    @Test
+    void readerGetsEverySampleAcrossWraparound() {
+        SampleRing.Reader reader = ring.newReader();
+        int expected = 0;
+        // Muchas vueltas al buffer, leyendo antes de que se llene
+        for (int n = 0; n < 10 * kCapacity; n++) {
+            write(n);
+            if (n % 2 == 1) {
+                int count = reader.read(timestamps, kColumns, values);
+                assertEquals(2, count);
+                for (int i = 0; i < count; i++) {
+                    assertEquals(expected * 0.004, timestamps[i], 1e-12);
+                    assertEquals(expected, values[0][i], 0.0);
+                    assertEquals(-expected, values[1][i], 0.0);
+                    expected++;
+                }
+            }
+        }
+        assertEquals(0, reader.read(timestamps, kColumns, values));
+    }
+
+    @Test
+    void overrunKeepsOnlyTheNewestIntactSamples() {
+        SampleRing.Reader reader = ring.newReader();
+        for (int n = 0; n < 3 * kCapacity; n++) {
+            write(n);
+        }
+        int count = reader.read(timestamps, kColumns, values);
+        // El slot más viejo del rango es el próximo que pisa el escritor: se descarta
+        assertEquals(kCapacity - 1, count);
+        for (int i = 0; i < count; i++) {
+            int n = 3 * kCapacity - count + i;
+            assertEquals(n, values[0][i], 0.0);
+            assertEquals(-n, values[1][i], 0.0);
+        }
+        assertEquals(0, reader.read(timestamps, kColumns, values));
+    }
+
+    @Test
+    void readerKeepsTheNewestWhenOutputIsShort() {
+        SampleRing big = new SampleRing(64, 1);
+        SampleRing.Reader reader = big.newReader();
+        for (int n = 0; n < 10; n++) {
+            big.write(n, new double[] {n});
+        }
+        double[] shortTimestamps = new double[3];
+        double[][] shortValues = new double[1][3];
+        assertEquals(3, reader.read(shortTimestamps, new int[] {0}, shortValues));
+        assertEquals(7.0, shortValues[0][0], 0.0);
+        assertEquals(9.0, shortValues[0][2], 0.0);
+    }
+
+    @Test
+    void readersAreIndependent() {
+        SampleRing.Reader first = ring.newReader();
+        write(0);
+        SampleRing.Reader second = ring.newReader();
+        write(1);
+        assertEquals(2, first.read(timestamps, kColumns, values));
+        assertEquals(1, second.read(timestamps, kColumns, values));
+        assertEquals(1.0, values[0][0], 0.0);
+    }
+
+    @Test
+    void readLatestReturnsNewestSample() {
+        double[] out = new double[1];
+        assertTrue(Double.isNaN(ring.readLatest(new int[] {1}, out)));
+        for (int n = 0; n < 2 * kCapacity + 1; n++) {
+            write(n);
+        }
+        int newest = 2 * kCapacity;
+        assertEquals(newest * 0.004, ring.readLatest(new int[] {1}, out), 1e-12);
+        assertEquals(-newest, out[0], 0.0);
+    }
+}
@@ -0,0 +1,62 @@
+package frc.robot.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class TimestampedBufferTest {
+
+    @Test
+    void emptyBufferReturnsNaN() {
+        TimestampedBuffer buffer = new TimestampedBuffer(4);
+        assertTrue(Double.isNaN(buffer.getAt(1.0)));
+        assertTrue(Double.isNaN(buffer.getLatestValue()));
+    }
+
+    @Test
+    void interpolatesBetweenSamples() {
+        TimestampedBuffer buffer = new TimestampedBuffer(8);
+        buffer.add(1.0, 10.0);
+        buffer.add(2.0, 20.0);
+        buffer.add(4.0, 0.0);
+        assertEquals(15.0, buffer.getAt(1.5), 1e-9);
+        assertEquals(10.0, buffer.getAt(3.0), 1e-9);
+        // Justo en una muestra: su valor
+        assertEquals(20.0, buffer.getAt(2.0), 1e-9);
+    }
+
+    @Test
+    void clampsOutsideTheStoredRange() {
+        TimestampedBuffer buffer = new TimestampedBuffer(8);
+        buffer.add(1.0, 10.0);
+        buffer.add(2.0, 20.0);
+        assertEquals(10.0, buffer.getAt(0.0), 0.0);
+        assertEquals(20.0, buffer.getAt(5.0), 0.0);
+    }
+
+    @Test
+    void ignoresSamplesThatAreNotNewer() {
+        TimestampedBuffer buffer = new TimestampedBuffer(8);
+        buffer.add(1.0, 10.0);
+        buffer.add(2.0, 20.0);
+        buffer.add(2.0, 99.0);
+        buffer.add(1.5, 99.0);
+        assertEquals(2, buffer.size());
+        assertEquals(15.0, buffer.getAt(1.5), 1e-9);
+    }
+
+    @Test
+    void interpolatesAfterWraparound() {
+        TimestampedBuffer buffer = new TimestampedBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i, i * 10.0);
+        }
+        assertEquals(4, buffer.size());
+        // Quedan t = 6..9: lo anterior devuelve la muestra más vieja
+        assertEquals(60.0, buffer.getAt(2.0), 0.0);
+        assertEquals(75.0, buffer.getAt(7.5), 1e-9);
+        assertEquals(85.0, buffer.getAt(8.5), 1e-9);
+        assertEquals(9.0, buffer.getLatestTimestamp(), 0.0);
+    }
+}